@@ -0,0 +1,85 @@
+/**
+ * Exposes SharedPlaybackState's direct ByteBuffer to JS as an ArrayBuffer backed by the
+ * same memory, so JS reads playback position without crossing the bridge.
+ */
+
+#include <jni.h>
+#include <jsi/jsi.h>
+
+#include <android/log.h>
+#include <memory>
+
+using namespace facebook;
+
+namespace {
+
+constexpr const char* kTag = "RNAudioStream";
+constexpr const char* kGlobalName = "__RNAudioStreamSharedState";
+
+/**
+ * Wraps the Java buffer's memory; the global reference keeps it alive for as long as
+ * the JS ArrayBuffer exists.
+ */
+class DirectBuffer : public jsi::MutableBuffer {
+ public:
+  DirectBuffer(JNIEnv* env, jobject buffer)
+      : data_(static_cast<uint8_t*>(env->GetDirectBufferAddress(buffer))),
+        size_(static_cast<size_t>(env->GetDirectBufferCapacity(buffer))),
+        buffer_(env->NewGlobalRef(buffer)) {
+    env->GetJavaVM(&vm_);
+  }
+
+  ~DirectBuffer() override {
+    // The JS engine may collect the ArrayBuffer on a thread the VM does not know yet
+    JNIEnv* env = nullptr;
+    bool attached = false;
+    if (vm_->GetEnv(reinterpret_cast<void**>(&env), JNI_VERSION_1_6) == JNI_EDETACHED) {
+      if (vm_->AttachCurrentThread(&env, nullptr) != JNI_OK) {
+        return;
+      }
+      attached = true;
+    }
+    env->DeleteGlobalRef(buffer_);
+    if (attached) {
+      vm_->DetachCurrentThread();
+    }
+  }
+
+  size_t size() const override {
+    return size_;
+  }
+
+  uint8_t* data() override {
+    return data_;
+  }
+
+ private:
+  uint8_t* data_;
+  size_t size_;
+  jobject buffer_;
+  JavaVM* vm_ = nullptr;
+};
+
+} // namespace
+
+extern "C" JNIEXPORT jboolean JNICALL
+Java_com_audiostream_SharedPlaybackState_nativeInstall(
+    JNIEnv* env,
+    jclass,
+    jlong runtimePtr,
+    jobject buffer) {
+  auto* runtime = reinterpret_cast<jsi::Runtime*>(runtimePtr);
+  if (runtime == nullptr || env->GetDirectBufferAddress(buffer) == nullptr) {
+    return JNI_FALSE;
+  }
+  try {
+    auto memory = std::make_shared<DirectBuffer>(env, buffer);
+    jsi::ArrayBuffer arrayBuffer(*runtime, memory);
+    runtime->global().setProperty(*runtime, kGlobalName, std::move(arrayBuffer));
+    return JNI_TRUE;
+  } catch (const std::exception& e) {
+    // Engines without external ArrayBuffer support (e.g. JSC) throw here
+    __android_log_print(ANDROID_LOG_WARN, kTag, "Shared playback state not installed: %s", e.what());
+    return JNI_FALSE;
+  }
+}
@@ -0,0 +1,279 @@
+package com.audiostream;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheKeyFactory;
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Process-wide owner of the audio SimpleCache partitions.
+ * SimpleCache scans its directory and loads the index when constructed, and only one
+ * instance may own a directory, so each partition is built once on a background thread
+ * and shared by every player and downloader in the module.
+ *
+ * Partitions (e.g. "music", "tts", "podcast") live in separate directories with their
+ * own LRU byte budget, so a flood of one content type cannot evict another.
+ */
+@UnstableApi
+public final class AudioCacheManager {
+    private static final String TAG = "AudioCacheManager";
+    private static final String CACHE_DIR_NAME = "audio_cache";
+    private static final long DEFAULT_CACHE_SIZE = 100L * 1024 * 1024;
+    private static final long LOAD_RETRY_DELAY_MS = 30000;
+
+    public static final String DEFAULT_PARTITION = "default";
+
+    @Nullable
+    private static AudioCacheManager instance;
+
+    private final Context appContext;
+    private final StandaloneDatabaseProvider databaseProvider;
+    private final Map<String, FutureTask<SimpleCache>> partitions = new HashMap<>();
+    private final Map<String, Long> partitionBudgets = new HashMap<>();
+    // Earliest time a partition that failed to load is tried again
+    private final Map<String, Long> retryAfterMs = new HashMap<>();
+
+    private AudioCacheManager(Context context) {
+        this.appContext = context.getApplicationContext();
+        this.databaseProvider = new StandaloneDatabaseProvider(appContext);
+    }
+
+    public static synchronized AudioCacheManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new AudioCacheManager(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Start loading a partition in the background. Safe to call more than once;
+     * the size of the first call wins because the evictor cannot be resized.
+     */
+    public synchronized void initializeAsync(String partition, long maxBytes) {
+        String name = normalizePartition(partition);
+        if (partitions.containsKey(name)) {
+            Long budget = partitionBudgets.get(name);
+            if (budget != null && budget != maxBytes) {
+                Log.w(TAG, "Cache partition '" + name + "' already initialized with " + budget
+                        + " bytes, ignoring new size");
+            }
+            return;
+        }
+
+        final long cacheBytes = maxBytes > 0 ? maxBytes : DEFAULT_CACHE_SIZE;
+        final File cacheDir = getPartitionDir(name);
+        FutureTask<SimpleCache> task = new FutureTask<>(() -> {
+            long start = System.currentTimeMillis();
+            SimpleCache cache = new SimpleCache(
+                    cacheDir,
+                    new LeastRecentlyUsedCacheEvictor(cacheBytes),
+                    databaseProvider);
+            Log.i(TAG, "Cache partition '" + name + "' loaded in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            return cache;
+        });
+        partitions.put(name, task);
+        partitionBudgets.put(name, cacheBytes);
+
+        Thread loader = new Thread(task, "RNAudioStream-cache-" + name);
+        loader.setPriority(Thread.MIN_PRIORITY);
+        loader.start();
+    }
+
+    public synchronized boolean isInitialized() {
+        return !partitions.isEmpty();
+    }
+
+    public synchronized boolean isInitialized(String partition) {
+        return partitions.containsKey(normalizePartition(partition));
+    }
+
+    /**
+     * Get a partition's cache, waiting for the background load on first access.
+     * Must not be called from the main thread.
+     *
+     * @throws IllegalArgumentException for a partition that was never initialized
+     * @throws IllegalStateException when the partition failed to load; it is loaded
+     *                               again on a later call
+     */
+    public Cache getCache(String partition) {
+        String name;
+        FutureTask<SimpleCache> task;
+        synchronized (this) {
+            name = resolvePartition(partition);
+            task = partitions.get(name);
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading audio cache", e);
+        } catch (ExecutionException e) {
+            synchronized (this) {
+                // Drop the failed load so a later call starts a new one; the budget is kept
+                if (partitions.get(name) == task) {
+                    partitions.remove(name);
+                    retryAfterMs.put(name, System.currentTimeMillis() + LOAD_RETRY_DELAY_MS);
+                }
+            }
+            throw new IllegalStateException("Failed to load audio cache partition '" + name + "'", e.getCause());
+        }
+    }
+
+    /**
+     * Normalized name of a known partition, (re)starting its load if needed; guarded by this
+     */
+    private String resolvePartition(@Nullable String partition) {
+        String name = normalizePartition(partition);
+        if (partitions.containsKey(name)) {
+            return name;
+        }
+        Long budget = partitionBudgets.get(name);
+        if (budget == null && !DEFAULT_PARTITION.equals(name)) {
+            throw new IllegalArgumentException("Unknown cache partition '" + partition
+                    + "', declare it in cachePartitions");
+        }
+        Long retryAfter = retryAfterMs.get(name);
+        if (retryAfter != null && System.currentTimeMillis() < retryAfter) {
+            throw new IllegalStateException("Audio cache partition '" + name + "' failed to load, retrying later");
+        }
+        retryAfterMs.remove(name);
+        initializeAsync(name, budget != null ? budget : DEFAULT_CACHE_SIZE);
+        return name;
+    }
+
+    /**
+     * Fail fast on a partition that was never initialized, e.g. a typo in cachePartition
+     *
+     * @throws IllegalArgumentException for an unknown partition
+     */
+    public synchronized void checkPartition(@Nullable String partition) {
+        String name = normalizePartition(partition);
+        if (!DEFAULT_PARTITION.equals(name) && !partitionBudgets.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown cache partition '" + partition
+                    + "', declare it in cachePartitions");
+        }
+    }
+
+    /**
+     * Create a DataSource.Factory that reads through a cache partition. The cache is
+     * resolved lazily on the loading thread when the first data source is created;
+     * while it fails to load, data sources read from upstream without caching.
+     *
+     * @throws IllegalArgumentException for an unknown partition
+     */
+    public DataSource.Factory createDataSourceFactory(String partition,
+                                                      DataSource.Factory upstreamFactory,
+                                                      CacheKeyFactory cacheKeyFactory) {
+        checkPartition(partition);
+        return new DataSource.Factory() {
+            @Nullable
+            private CacheDataSource.Factory cacheDataSourceFactory;
+
+            @Override
+            public DataSource createDataSource() {
+                synchronized (this) {
+                    if (cacheDataSourceFactory == null) {
+                        Cache cache;
+                        try {
+                            cache = getCache(partition);
+                        } catch (IllegalStateException e) {
+                            Log.w(TAG, "Audio cache unavailable, reading without cache: " + e.getMessage());
+                            return upstreamFactory.createDataSource();
+                        }
+                        cacheDataSourceFactory = new CacheDataSource.Factory()
+                                .setCache(cache)
+                                .setUpstreamDataSourceFactory(upstreamFactory)
+                                .setCacheKeyFactory(cacheKeyFactory)
+                                .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR);
+                    }
+                    return cacheDataSourceFactory.createDataSource();
+                }
+            }
+        };
+    }
+
+    /**
+     * Remove every cached resource in every partition. The cache instances stay alive,
+     * so readers that are currently playing are not invalidated.
+     */
+    public void clear() {
+        for (FutureTask<SimpleCache> task : snapshotPartitions()) {
+            Cache cache = loadedCache(task);
+            if (cache == null) {
+                continue;
+            }
+            Set<String> keys = new HashSet<>(cache.getKeys());
+            for (String key : keys) {
+                cache.removeResource(key);
+            }
+        }
+        Log.i(TAG, "Cleared all cache partitions");
+    }
+
+    /**
+     * Bytes currently held by all loaded partitions
+     */
+    public long getCacheSize() {
+        long size = 0;
+        for (FutureTask<SimpleCache> task : snapshotPartitions()) {
+            Cache cache = task.isDone() ? loadedCache(task) : null;
+            if (cache != null) {
+                size += cache.getCacheSpace();
+            }
+        }
+        return size;
+    }
+
+    private synchronized List<FutureTask<SimpleCache>> snapshotPartitions() {
+        return new ArrayList<>(partitions.values());
+    }
+
+    private File getPartitionDir(String name) {
+        // The default partition keeps the original directory so existing caches stay valid
+        String dirName = DEFAULT_PARTITION.equals(name) ? CACHE_DIR_NAME : CACHE_DIR_NAME + "_" + name;
+        return new File(appContext.getCacheDir(), dirName);
+    }
+
+    private static String normalizePartition(@Nullable String partition) {
+        if (partition == null || partition.isEmpty()) {
+            return DEFAULT_PARTITION;
+        }
+        // Partition names become directory names
+        return partition.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_-]", "_");
+    }
+
+    /**
+     * The partition's cache, waiting for its load, or null if the load failed
+     */
+    @Nullable
+    private static SimpleCache loadedCache(FutureTask<SimpleCache> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.audiostream;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.upstream.DefaultAllocator;
+
+import com.facebook.react.bridge.ReadableMap;
+
+/**
+ * Buffering thresholds for the player's LoadControl.
+ * A named profile ({@code bufferProfile}) provides the defaults and the explicit
+ * duration/size keys of the config override single values.
+ */
+@UnstableApi
+public final class BufferProfile {
+    private static final String TAG = "BufferProfile";
+
+    /** Short replies (TTS, notifications): start almost immediately, keep little ahead */
+    public static final BufferProfile LOW_LATENCY =
+            new BufferProfile("lowLatency", 1000, 5000, 250, 500, C.LENGTH_UNSET, true, 0);
+    /** Music and radio; the module's historical defaults */
+    public static final BufferProfile BALANCED =
+            new BufferProfile("balanced", 30000, 60000, 2500, 5000, C.LENGTH_UNSET, true, 0);
+    /** Podcasts and audiobooks: ride out long network drops and keep 15s for seeking back */
+    public static final BufferProfile LONG_FORM =
+            new BufferProfile("longForm", 60000, 300000, 2500, 5000, C.LENGTH_UNSET, true, 15000);
+    /** Low-RAM devices: hard 1MB cap, bytes take precedence over durations */
+    public static final BufferProfile LOW_MEMORY =
+            new BufferProfile("lowMemory", 10000, 20000, 1500, 3000, 1024 * 1024, false, 0);
+
+    public final String name;
+    public final int minBufferMs;
+    public final int maxBufferMs;
+    public final int bufferForPlaybackMs;
+    public final int bufferForPlaybackAfterRebufferMs;
+    public final int targetBufferBytes;
+    public final boolean prioritizeTimeOverSizeThresholds;
+    public final int backBufferMs;
+
+    private BufferProfile(String name,
+                          int minBufferMs,
+                          int maxBufferMs,
+                          int bufferForPlaybackMs,
+                          int bufferForPlaybackAfterRebufferMs,
+                          int targetBufferBytes,
+                          boolean prioritizeTimeOverSizeThresholds,
+                          int backBufferMs) {
+        this.name = name;
+        this.minBufferMs = minBufferMs;
+        this.maxBufferMs = maxBufferMs;
+        this.bufferForPlaybackMs = bufferForPlaybackMs;
+        this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+        this.targetBufferBytes = targetBufferBytes;
+        this.prioritizeTimeOverSizeThresholds = prioritizeTimeOverSizeThresholds;
+        this.backBufferMs = backBufferMs;
+    }
+
+    /**
+     * Profile of a muted standby player: enough to start instantly, never more than {@code maxBytes}
+     */
+    public static BufferProfile standby(int maxBytes) {
+        return new BufferProfile("standby", 5000, 10000, 2500, 2500,
+                maxBytes > 0 ? maxBytes : C.LENGTH_UNSET, false, 0);
+    }
+
+    /**
+     * Resolve a profile by name, falling back to {@link #BALANCED} for unknown names
+     */
+    public static BufferProfile forName(@Nullable String name) {
+        if (name == null) {
+            return BALANCED;
+        }
+        switch (name) {
+            case "lowLatency":
+                return LOW_LATENCY;
+            case "balanced":
+                return BALANCED;
+            case "longForm":
+                return LONG_FORM;
+            case "lowMemory":
+                return LOW_MEMORY;
+            default:
+                Log.w(TAG, "Unknown buffer profile '" + name + "', using balanced");
+                return BALANCED;
+        }
+    }
+
+    /**
+     * Profile from `bufferProfile` plus the `minBufferDuration`, `maxBufferDuration`,
+     * `startBufferDuration`, `rebufferDuration`, `backBufferDuration` (ms) and
+     * `maxBufferSize` (KB) overrides. Inconsistent values are clamped to a valid order.
+     */
+    public static BufferProfile fromConfig(@Nullable ReadableMap config) {
+        BufferProfile base = forName(config != null && config.hasKey("bufferProfile")
+                ? config.getString("bufferProfile") : null);
+        if (config == null) {
+            return base;
+        }
+
+        int minBuffer = getInt(config, "minBufferDuration", base.minBufferMs);
+        int maxBuffer = Math.max(minBuffer, getInt(config, "maxBufferDuration", base.maxBufferMs));
+        int startBuffer = Math.min(minBuffer, getInt(config, "startBufferDuration", base.bufferForPlaybackMs));
+        int rebuffer = Math.min(minBuffer, getInt(config, "rebufferDuration", base.bufferForPlaybackAfterRebufferMs));
+        int backBuffer = getInt(config, "backBufferDuration", base.backBufferMs);
+        int targetBytes = config.hasKey("maxBufferSize") && !config.isNull("maxBufferSize")
+                ? (int) (config.getDouble("maxBufferSize") * 1024)
+                : base.targetBufferBytes;
+
+        return new BufferProfile(base.name, minBuffer, maxBuffer, startBuffer, rebuffer,
+                targetBytes > 0 ? targetBytes : C.LENGTH_UNSET,
+                base.prioritizeTimeOverSizeThresholds, backBuffer);
+    }
+
+    DefaultLoadControl createLoadControl(DefaultAllocator allocator) {
+        return new DefaultLoadControl.Builder()
+                .setAllocator(allocator)
+                .setBufferDurationsMs(minBufferMs, maxBufferMs, bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs)
+                .setTargetBufferBytes(targetBufferBytes)
+                .setPrioritizeTimeOverSizeThresholds(prioritizeTimeOverSizeThresholds)
+                .setBackBuffer(backBufferMs, false)
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(min=%dms, max=%dms, start=%dms, rebuffer=%dms, bytes=%d)",
+                name, minBufferMs, maxBufferMs, bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs, targetBufferBytes);
+    }
+
+    private static int getInt(ReadableMap config, String key, int fallback) {
+        if (!config.hasKey(key) || config.isNull(key)) {
+            return fallback;
+        }
+        return Math.max(0, (int) config.getDouble(key));
+    }
+}
@@ -0,0 +1,176 @@
+package com.audiostream;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Opens idle connections to upcoming stream origins in the shared OkHttp pool.
+ * Each origin gets one HEAD request, which resolves DNS and completes the TCP/TLS
+ * handshake without downloading media; the connection then stays pooled and the next
+ * startStream skips the handshake. The pool's keep-alive applies to every connection, so
+ * a TTL beyond it is kept per origin instead: another HEAD on the pooled connection
+ * before the pool would close it, until the TTL runs out.
+ */
+public class ConnectionWarmer {
+    private static final String TAG = "ConnectionWarmer";
+
+    public interface Callback {
+        void onComplete(List<Result> results);
+    }
+
+    public static final class Result {
+        public final String url;
+        public final boolean success;
+        public final long elapsedMs;
+        @Nullable
+        public final String error;
+
+        Result(String url, boolean success, long elapsedMs, @Nullable String error) {
+            this.url = url;
+            this.success = success;
+            this.elapsedMs = elapsedMs;
+            this.error = error;
+        }
+    }
+
+    private static final class Refresh {
+        final long deadline;
+        final ScheduledFuture<?> future;
+
+        Refresh(long deadline, ScheduledFuture<?> future) {
+            this.deadline = deadline;
+            this.future = future;
+        }
+    }
+
+    private final ModuleScheduler scheduler;
+    // Pending keep-warm refresh per origin; guarded by itself
+    private final Map<String, Refresh> refreshes = new HashMap<>();
+
+    public ConnectionWarmer(ModuleScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Warm one connection per distinct origin among {@code urls} and keep it for at least
+     * {@code ttlMs} (0 for the pool keep-alive)
+     */
+    public void warmUp(List<String> urls, long ttlMs, Callback callback) {
+        OkHttpClient client = SharedOkHttpClient.get();
+        // One connection per scheme://host:port is enough (HTTP/2 multiplexes the rest)
+        Map<String, String> origins = new LinkedHashMap<>();
+        for (String url : urls) {
+            Uri uri = Uri.parse(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || (!"http".equals(scheme) && !"https".equals(scheme))) {
+                continue;
+            }
+            String origin = scheme + "://" + uri.getHost() + ":" + uri.getPort();
+            if (!origins.containsKey(origin)) {
+                origins.put(origin, url);
+            }
+        }
+
+        if (origins.isEmpty()) {
+            callback.onComplete(Collections.emptyList());
+            return;
+        }
+
+        List<Result> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger pending = new AtomicInteger(origins.size());
+
+        long deadline = SystemClock.elapsedRealtime() + ttlMs;
+        for (Map.Entry<String, String> entry : origins.entrySet()) {
+            String origin = entry.getKey();
+            String url = entry.getValue();
+            long start = System.currentTimeMillis();
+            Request request = new Request.Builder().url(url).head().build();
+            client.newCall(request).enqueue(new okhttp3.Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    Log.w(TAG, "Warm-up failed for " + url + ": " + e.getMessage());
+                    finish(new Result(url, false, System.currentTimeMillis() - start, e.getMessage()));
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    // Any HTTP status means the connection is established; close returns it to the pool
+                    response.close();
+                    keepWarm(origin, url, deadline);
+                    finish(new Result(url, true, System.currentTimeMillis() - start, null));
+                }
+
+                private void finish(Result result) {
+                    results.add(result);
+                    if (pending.decrementAndGet() == 0) {
+                        callback.onComplete(new ArrayList<>(results));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Refresh the origin's idle connection before the pool closes it, while that would
+     * happen before {@code deadline}; an earlier warm-up of the origin with a later
+     * deadline wins
+     */
+    private void keepWarm(String origin, String url, long deadline) {
+        long keepAliveMs = SharedOkHttpClient.getKeepAliveMs();
+        synchronized (refreshes) {
+            Refresh previous = refreshes.get(origin);
+            if (previous != null) {
+                if (previous.deadline > deadline) {
+                    return;
+                }
+                previous.future.cancel(false);
+                refreshes.remove(origin);
+            }
+            if (deadline - SystemClock.elapsedRealtime() <= keepAliveMs) {
+                return;
+            }
+            ScheduledFuture<?> future = scheduler.schedule(() -> refresh(origin, url, deadline), keepAliveMs * 3 / 4);
+            refreshes.put(origin, new Refresh(deadline, future));
+        }
+    }
+
+    private void refresh(String origin, String url, long deadline) {
+        Request request = new Request.Builder().url(url).head().build();
+        SharedOkHttpClient.get().newCall(request).enqueue(new okhttp3.Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "Keep-warm refresh failed for " + url + ": " + e.getMessage());
+                synchronized (refreshes) {
+                    Refresh current = refreshes.get(origin);
+                    if (current != null && current.deadline == deadline) {
+                        refreshes.remove(origin);
+                    }
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                keepWarm(origin, url, deadline);
+            }
+        });
+    }
+}
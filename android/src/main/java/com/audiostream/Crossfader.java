@@ -0,0 +1,203 @@
+package com.audiostream;
+
+import android.os.Handler;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+
+/**
+ * Overlapping transition between two players: the outgoing player fades out while
+ * the incoming one fades in, driven by volume ramps on the players' looper.
+ * The ramp only advances while the incoming player is actually playing, so a slow
+ * start does not eat into the overlap. The fade completes at once when the incoming
+ * player fails, is paused, or has not started within {@link #MAX_WAIT_MS}, and when
+ * the outgoing player ends or fails: the outgoing player no longer reports to anyone.
+ * CPU use of each crossfade is measured.
+ */
+@UnstableApi
+public class Crossfader {
+    private static final String TAG = "Crossfader";
+    private static final long TICK_MS = 20;
+    private static final long MAX_WAIT_MS = 10000;
+
+    public enum Curve {
+        LINEAR,
+        EQUAL_POWER;
+
+        public static Curve fromName(@Nullable String name) {
+            return "linear".equals(name) ? LINEAR : EQUAL_POWER;
+        }
+    }
+
+    private final Handler handler;
+
+    @Nullable
+    private ExoPlayer outgoing;
+    @Nullable
+    private ExoPlayer incoming;
+    @Nullable
+    private Runnable onFinished;
+    private Curve curve = Curve.EQUAL_POWER;
+    private long durationMs;
+    private long elapsedMs;
+    private long waitedMs;
+    private long lastTickMs;
+    private float targetVolume = 1f;
+
+    // CPU accounting
+    private long startWallMs;
+    private long startProcessCpuMs;
+    private long rampThreadCpuMs;
+    private int crossfadeCount = 0;
+    private double lastCpuUsage = 0;
+    private long lastRampCpuTimeMs = 0;
+
+    private final Runnable tick = this::tick;
+
+    public Crossfader(Handler handler) {
+        this.handler = handler;
+    }
+
+    public boolean isActive() {
+        return outgoing != null;
+    }
+
+    /**
+     * Fade {@code outgoing} out and {@code incoming} in to {@code targetVolume} over {@code durationMs}.
+     * {@code onFinished} runs once the outgoing player is silent and no longer needed.
+     */
+    public void start(ExoPlayer outgoing, ExoPlayer incoming, long durationMs, Curve curve,
+                      float targetVolume, Runnable onFinished) {
+        finish();
+
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.durationMs = Math.max(TICK_MS, durationMs);
+        this.curve = curve;
+        this.targetVolume = targetVolume;
+        this.onFinished = onFinished;
+        this.elapsedMs = 0;
+        this.waitedMs = 0;
+        this.lastTickMs = SystemClock.elapsedRealtime();
+        this.startWallMs = lastTickMs;
+        this.startProcessCpuMs = Process.getElapsedCpuTime();
+        this.rampThreadCpuMs = 0;
+
+        incoming.setVolume(0f);
+        handler.post(tick);
+        Log.i(TAG, "Crossfade started: " + durationMs + "ms, " + curve);
+    }
+
+    /**
+     * Volume the incoming player ends at, e.g. after setVolume during a crossfade
+     */
+    public void setTargetVolume(float volume) {
+        targetVolume = volume;
+    }
+
+    /**
+     * Complete a running crossfade immediately
+     */
+    public void finish() {
+        if (outgoing == null) {
+            return;
+        }
+        handler.removeCallbacks(tick);
+        if (incoming != null) {
+            incoming.setVolume(targetVolume);
+        }
+        outgoing.setVolume(0f);
+
+        long wallMs = SystemClock.elapsedRealtime() - startWallMs;
+        long cpuMs = Process.getElapsedCpuTime() - startProcessCpuMs;
+        lastCpuUsage = wallMs > 0 ? cpuMs * 100.0 / wallMs : 0;
+        lastRampCpuTimeMs = rampThreadCpuMs;
+        crossfadeCount++;
+        Log.i(TAG, String.format("Crossfade finished: %.1f%% process CPU, %dms in ramps", lastCpuUsage, lastRampCpuTimeMs));
+
+        Runnable callback = onFinished;
+        outgoing = null;
+        incoming = null;
+        onFinished = null;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * Add {@code crossfadeCount}, {@code crossfadeCpuUsage} (% of one core for the whole
+     * process during the last crossfade) and {@code crossfadeRampCpuTime} (ms) to stats
+     */
+    public void writeTo(StatsSnapshot stats) {
+        stats.putInt("crossfadeCount", crossfadeCount);
+        stats.putDouble("crossfadeCpuUsage", lastCpuUsage);
+        stats.putDouble("crossfadeRampCpuTime", lastRampCpuTimeMs);
+    }
+
+    private void tick() {
+        if (outgoing == null || incoming == null) {
+            return;
+        }
+        long threadCpuStart = SystemClock.currentThreadTimeMillis();
+
+        long now = SystemClock.elapsedRealtime();
+        if (incoming.isPlaying()) {
+            elapsedMs += now - lastTickMs;
+        } else {
+            waitedMs += now - lastTickMs;
+        }
+        lastTickMs = now;
+
+        String abortReason = abortReason();
+        if (abortReason != null) {
+            Log.w(TAG, "Crossfade cut short: " + abortReason);
+            rampThreadCpuMs += SystemClock.currentThreadTimeMillis() - threadCpuStart;
+            finish();
+            return;
+        }
+
+        float t = Math.min(1f, (float) elapsedMs / durationMs);
+        float outGain;
+        float inGain;
+        if (curve == Curve.LINEAR) {
+            outGain = 1f - t;
+            inGain = t;
+        } else {
+            // Equal power keeps the perceived loudness constant through the overlap
+            outGain = (float) Math.cos(t * Math.PI / 2);
+            inGain = (float) Math.sin(t * Math.PI / 2);
+        }
+        outgoing.setVolume(outGain * targetVolume);
+        incoming.setVolume(inGain * targetVolume);
+
+        rampThreadCpuMs += SystemClock.currentThreadTimeMillis() - threadCpuStart;
+
+        if (t >= 1f) {
+            finish();
+        } else {
+            handler.postDelayed(tick, TICK_MS);
+        }
+    }
+
+    @Nullable
+    private String abortReason() {
+        if (incoming.getPlayerError() != null) {
+            return "incoming player failed";
+        }
+        if (!incoming.getPlayWhenReady()) {
+            return "incoming player paused";
+        }
+        if (waitedMs > MAX_WAIT_MS) {
+            return "incoming player did not start within " + MAX_WAIT_MS + "ms";
+        }
+        if (outgoing.getPlayerError() != null || outgoing.getPlaybackState() == Player.STATE_ENDED) {
+            return "outgoing player stopped";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,247 @@
+package com.audiostream;
+
+import androidx.media3.common.C;
+import androidx.media3.common.audio.BaseAudioProcessor;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parametric equalizer on the PCM path: one peaking biquad (RBJ cookbook) per band,
+ * run in transposed direct form II on 16-bit or float PCM. Bands come from a shared
+ * {@link Settings}: JS publishes a new immutable band array, and the audio thread picks
+ * it up at the next buffer and recomputes the coefficients in place. Coefficients,
+ * filter state and the output buffer are allocated once per processor, never per buffer.
+ * One instance per audio sink; it runs on ExoPlayer's internal playback thread.
+ */
+public class EqualizerAudioProcessor extends BaseAudioProcessor {
+    public static final int MAX_BANDS = 10;
+    private static final int MAX_CHANNELS = 8;
+    private static final int COEFFICIENTS_PER_BAND = 5;
+
+    /**
+     * One band; immutable so a published array can be read without locking
+     */
+    public static final class Band {
+        public final double frequency;
+        public final double gainDb;
+        public final double q;
+
+        public Band(double frequency, double gainDb, double q) {
+            this.frequency = frequency;
+            this.gainDb = gainDb;
+            this.q = q;
+        }
+    }
+
+    /**
+     * Current bands shared by every player's processor, plus their combined processing cost
+     */
+    public static final class Settings {
+        public static final double DEFAULT_Q = 1.41; // about one octave, like the iOS EQ bands
+        private static final double[] DEFAULT_FREQUENCIES = {60, 230, 910, 3600, 14000};
+
+        private volatile Band[] bands;
+        private final AtomicLong processNanos = new AtomicLong();
+        private final AtomicLong processedFrames = new AtomicLong();
+        private volatile int lastSampleRate = 0;
+        private volatile int lastChannelCount = 0;
+
+        public Settings() {
+            Band[] flat = new Band[DEFAULT_FREQUENCIES.length];
+            for (int i = 0; i < flat.length; i++) {
+                flat[i] = new Band(DEFAULT_FREQUENCIES[i], 0, DEFAULT_Q);
+            }
+            bands = flat;
+        }
+
+        public void setBands(Band[] bands) {
+            if (bands.length > MAX_BANDS) {
+                throw new IllegalArgumentException("At most " + MAX_BANDS + " equalizer bands are supported");
+            }
+            this.bands = bands.clone();
+        }
+
+        public Band[] getBands() {
+            return bands.clone();
+        }
+
+        public EqualizerAudioProcessor newProcessor() {
+            return new EqualizerAudioProcessor(this);
+        }
+
+        /**
+         * Add {@code equalizerCpuPerSecond}: CPU ms spent per second of audio processed,
+         * normalized to 48kHz stereo so the figure is comparable across streams
+         */
+        public void writeTo(StatsSnapshot stats) {
+            long frames = processedFrames.get();
+            int channels = lastChannelCount;
+            if (frames == 0 || lastSampleRate == 0 || channels == 0) {
+                stats.remove("equalizerCpuPerSecond");
+                return;
+            }
+            double audioSeconds = (double) frames / lastSampleRate;
+            double msPerSecond = processNanos.get() / 1_000_000.0 / audioSeconds;
+            double scale = (48000.0 / lastSampleRate) * (2.0 / channels);
+            stats.putDouble("equalizerCpuPerSecond", msPerSecond * scale);
+        }
+    }
+
+    private final Settings settings;
+    private final double[] coefficients = new double[MAX_BANDS * COEFFICIENTS_PER_BAND];
+    // z1, z2 per band and channel
+    private final double[] state = new double[MAX_BANDS * MAX_CHANNELS * 2];
+
+    private Band[] appliedBands = null;
+    private int activeBands = 0;
+    private int sampleRate = 0;
+    private int channelCount = 0;
+    private int encoding = C.ENCODING_INVALID;
+
+    EqualizerAudioProcessor(Settings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    protected AudioFormat onConfigure(AudioFormat inputAudioFormat) throws UnhandledAudioFormatException {
+        if ((inputAudioFormat.encoding != C.ENCODING_PCM_16BIT && inputAudioFormat.encoding != C.ENCODING_PCM_FLOAT)
+                || inputAudioFormat.channelCount > MAX_CHANNELS) {
+            throw new UnhandledAudioFormatException(inputAudioFormat);
+        }
+        return inputAudioFormat;
+    }
+
+    @Override
+    protected void onFlush() {
+        AudioFormat format = inputAudioFormat;
+        sampleRate = format.sampleRate;
+        channelCount = format.channelCount;
+        encoding = format.encoding;
+        appliedBands = null;
+        Arrays.fill(state, 0);
+    }
+
+    @Override
+    protected void onReset() {
+        sampleRate = 0;
+        channelCount = 0;
+        encoding = C.ENCODING_INVALID;
+        appliedBands = null;
+        activeBands = 0;
+    }
+
+    @Override
+    public void queueInput(ByteBuffer inputBuffer) {
+        int size = inputBuffer.remaining();
+        if (size == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        refreshCoefficients();
+
+        ByteBuffer output = replaceOutputBuffer(size);
+        int frames;
+        if (activeBands == 0) {
+            output.put(inputBuffer);
+            frames = size / (channelCount * (encoding == C.ENCODING_PCM_FLOAT ? 4 : 2));
+        } else if (encoding == C.ENCODING_PCM_FLOAT) {
+            frames = processFloat(inputBuffer, output);
+        } else {
+            frames = process16Bit(inputBuffer, output);
+        }
+        output.flip();
+
+        settings.processNanos.addAndGet(System.nanoTime() - start);
+        settings.processedFrames.addAndGet(frames);
+        settings.lastSampleRate = sampleRate;
+        settings.lastChannelCount = channelCount;
+    }
+
+    private int process16Bit(ByteBuffer input, ByteBuffer output) {
+        int frames = input.remaining() / (2 * channelCount);
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < channelCount; channel++) {
+                double sample = filter(input.getShort() / 32768.0, channel);
+                int value = (int) Math.round(sample * 32768.0);
+                output.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+            }
+        }
+        input.position(input.limit());
+        return frames;
+    }
+
+    private int processFloat(ByteBuffer input, ByteBuffer output) {
+        int frames = input.remaining() / (4 * channelCount);
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < channelCount; channel++) {
+                output.putFloat((float) filter(input.getFloat(), channel));
+            }
+        }
+        input.position(input.limit());
+        return frames;
+    }
+
+    private double filter(double x, int channel) {
+        for (int band = 0; band < activeBands; band++) {
+            int c = band * COEFFICIENTS_PER_BAND;
+            int s = (band * MAX_CHANNELS + channel) * 2;
+            double y = coefficients[c] * x + state[s];
+            state[s] = coefficients[c + 1] * x - coefficients[c + 3] * y + state[s + 1];
+            state[s + 1] = coefficients[c + 2] * x - coefficients[c + 4] * y;
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Pick up bands published since the last buffer. Each band keeps its filter state slot,
+     * so a gain change does not click; an all-flat EQ is a plain copy.
+     */
+    private void refreshCoefficients() {
+        Band[] bands = settings.bands;
+        if (bands == appliedBands) {
+            return;
+        }
+        appliedBands = bands;
+        boolean flat = true;
+        for (Band band : bands) {
+            flat &= band.gainDb == 0;
+        }
+        if (flat) {
+            activeBands = 0;
+            return;
+        }
+        if (activeBands == 0) {
+            // Coming out of pass-through: drop state left from before
+            Arrays.fill(state, 0);
+        }
+
+        double nyquistLimit = sampleRate * 0.45;
+        for (int i = 0; i < bands.length; i++) {
+            Band band = bands[i];
+            int c = i * COEFFICIENTS_PER_BAND;
+            if (band.gainDb == 0 || band.frequency <= 0 || band.frequency >= nyquistLimit || band.q <= 0) {
+                // Identity section
+                coefficients[c] = 1;
+                coefficients[c + 1] = 0;
+                coefficients[c + 2] = 0;
+                coefficients[c + 3] = 0;
+                coefficients[c + 4] = 0;
+                continue;
+            }
+            double a = Math.pow(10, band.gainDb / 40);
+            double w0 = 2 * Math.PI * band.frequency / sampleRate;
+            double alpha = Math.sin(w0) / (2 * band.q);
+            double cosW0 = Math.cos(w0);
+            double a0 = 1 + alpha / a;
+            coefficients[c] = (1 + alpha * a) / a0;
+            coefficients[c + 1] = (-2 * cosW0) / a0;
+            coefficients[c + 2] = (1 - alpha * a) / a0;
+            coefficients[c + 3] = (-2 * cosW0) / a0;
+            coefficients[c + 4] = (1 - alpha / a) / a0;
+        }
+        activeBands = bands.length;
+    }
+}
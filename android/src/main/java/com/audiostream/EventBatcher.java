@@ -0,0 +1,159 @@
+package com.audiostream;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Opt-in coalescing of playback events. While enabled, events collected during a flush
+ * window go to JS as one {@code onStreamEvents} array of {@code {type, data}} entries,
+ * in the order they were sent. Within a window only the latest progress event is kept,
+ * moved to where it was sent so it never precedes an earlier state change, and errors,
+ * ends and starts flush the batch at once. Other events (e.g. audio focus)
+ * are always emitted on their own, as JS may listen for them directly.
+ * May be called from any thread; flushes run on the player thread.
+ */
+public class EventBatcher {
+    public static final String BATCH_EVENT = "onStreamEvents";
+    public static final long DEFAULT_WINDOW_MS = 50;
+
+    // Events AudioStream.ts fans out from a batch
+    private static final Set<String> BATCHABLE = new HashSet<>();
+    // Newer values supersede older ones inside a window
+    private static final Set<String> LATEST_ONLY = new HashSet<>();
+    // Delivered without waiting for the window to end
+    private static final Set<String> URGENT = new HashSet<>();
+
+    static {
+        BATCHABLE.add("onStreamStart");
+        BATCHABLE.add("onStreamBuffer");
+        BATCHABLE.add("onStreamProgress");
+        BATCHABLE.add("onStreamError");
+        BATCHABLE.add("onStreamEnd");
+        BATCHABLE.add("onStreamStateChange");
+        BATCHABLE.add("onStreamMetadata");
+        BATCHABLE.add("onStreamStats");
+        BATCHABLE.add("onQueueChange");
+        LATEST_ONLY.add("onStreamProgress");
+        URGENT.add("onStreamError");
+        URGENT.add("onStreamEnd");
+        URGENT.add("onStreamStart");
+    }
+
+    public interface Emitter {
+        void emit(String eventName, Object params);
+    }
+
+    private static final class PendingEvent {
+        final String type;
+        final WritableMap data;
+
+        PendingEvent(String type, WritableMap data) {
+            this.type = type;
+            this.data = data;
+        }
+    }
+
+    private final PlaybackThread thread;
+    private final Emitter emitter;
+    private final Runnable flush = this::flush;
+
+    private volatile boolean enabled = false;
+    private volatile long windowMs = DEFAULT_WINDOW_MS;
+
+    // Guarded by this
+    private final List<PendingEvent> pending = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private long batchCount = 0;
+    private long eventCount = 0;
+    private long coalescedCount = 0;
+
+    public EventBatcher(PlaybackThread thread, Emitter emitter) {
+        this.thread = thread;
+        this.emitter = emitter;
+    }
+
+    /**
+     * Turn batching on or off; turning it off delivers what is still pending
+     */
+    public void configure(boolean enabled, long windowMs) {
+        this.windowMs = Math.max(1, windowMs);
+        this.enabled = enabled;
+        if (!enabled) {
+            thread.post(flush);
+        }
+    }
+
+    public void send(String eventName, WritableMap params) {
+        if (!enabled || !BATCHABLE.contains(eventName)) {
+            emitter.emit(eventName, params);
+            return;
+        }
+
+        boolean flushNow = URGENT.contains(eventName);
+        boolean schedule = false;
+        synchronized (this) {
+            eventCount++;
+            PendingEvent existing = LATEST_ONLY.contains(eventName) ? findPending(eventName) : null;
+            if (existing != null) {
+                pending.remove(existing);
+                coalescedCount++;
+            }
+            pending.add(new PendingEvent(eventName, params));
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+
+        if (flushNow) {
+            thread.removeCallbacks(flush);
+            thread.post(flush);
+        } else if (schedule) {
+            thread.postDelayed(flush, windowMs);
+        }
+    }
+
+    /**
+     * Add {@code eventBatches}, {@code batchedEvents} and {@code coalescedEvents} (dropped superseded progress)
+     */
+    public synchronized void writeTo(StatsSnapshot stats) {
+        stats.putDouble("eventBatches", batchCount);
+        stats.putDouble("batchedEvents", eventCount);
+        stats.putDouble("coalescedEvents", coalescedCount);
+    }
+
+    private PendingEvent findPending(String type) {
+        for (PendingEvent event : pending) {
+            if (event.type.equals(type)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private void flush() {
+        WritableArray batch;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = Arguments.createArray();
+            for (PendingEvent event : pending) {
+                WritableMap entry = Arguments.createMap();
+                entry.putString("type", event.type);
+                entry.putMap("data", event.data);
+                batch.pushMap(entry);
+            }
+            pending.clear();
+            batchCount++;
+        }
+        emitter.emit(BATCH_EVENT, batch);
+    }
+}
@@ -0,0 +1,74 @@
+package com.audiostream;
+
+import androidx.media3.common.C;
+import androidx.media3.exoplayer.audio.TeeAudioProcessor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Peak and RMS level of the audio going to the AudioTrack, measured per output buffer.
+ * Installed as a {@link TeeAudioProcessor} sink, so it sees the PCM without changing it.
+ * Written on ExoPlayer's internal playback thread, read from any thread.
+ */
+public class LevelMeter implements TeeAudioProcessor.AudioBufferSink {
+    private volatile float peak = 0f;
+    private volatile float rms = 0f;
+
+    private int encoding = C.ENCODING_INVALID;
+
+    @Override
+    public void flush(int sampleRateHz, int channelCount, int encoding) {
+        this.encoding = encoding;
+        reset();
+    }
+
+    @Override
+    public void handleBuffer(ByteBuffer buffer) {
+        // The tee hands over a read-only view; position and limit are ours to read
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.nativeOrder());
+        float maxAbs = 0f;
+        double sumSquares = 0;
+        int samples = 0;
+        if (encoding == C.ENCODING_PCM_16BIT) {
+            while (data.remaining() >= 2) {
+                float sample = data.getShort() / 32768f;
+                maxAbs = Math.max(maxAbs, Math.abs(sample));
+                sumSquares += sample * sample;
+                samples++;
+            }
+        } else if (encoding == C.ENCODING_PCM_FLOAT) {
+            while (data.remaining() >= 4) {
+                float sample = data.getFloat();
+                maxAbs = Math.max(maxAbs, Math.abs(sample));
+                sumSquares += sample * sample;
+                samples++;
+            }
+        } else {
+            return;
+        }
+        if (samples > 0) {
+            peak = Math.min(1f, maxAbs);
+            rms = (float) Math.sqrt(sumSquares / samples);
+        }
+    }
+
+    public void reset() {
+        peak = 0f;
+        rms = 0f;
+    }
+
+    /**
+     * Peak sample of the latest buffer, 0..1
+     */
+    public float getPeak() {
+        return peak;
+    }
+
+    /**
+     * RMS of the latest buffer, 0..1
+     */
+    public float getRms() {
+        return rms;
+    }
+}
@@ -0,0 +1,98 @@
+package com.audiostream;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Integrated loudness (LUFS) of streams measured to the end, by cache key, so a replay
+ * gets its normalization gain from the first buffer. Kept in memory as an LRU and
+ * persisted in SharedPreferences off the calling thread. The gain itself is derived
+ * from the loudness at playback time, so changing the target needs no re-analysis.
+ */
+public class LoudnessCache {
+    private static final String TAG = "RNAudioStream";
+    private static final String PREFS_NAME = "RNAudioStreamLoudness";
+    private static final int MAX_ENTRIES = 2000;
+
+    private final Context appContext;
+    private final Executor executor;
+    // Guarded by this; access order, eldest first
+    private final LinkedHashMap<String, Float> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private volatile boolean loaded = false;
+
+    public LoudnessCache(Context context, Executor executor) {
+        this.appContext = context.getApplicationContext();
+        this.executor = executor;
+        executor.execute(this::load);
+    }
+
+    /**
+     * Loudness of {@code key} in LUFS, or NaN when it was never measured (or is still loading)
+     */
+    public float get(@Nullable String key) {
+        if (key == null || !loaded) {
+            return Float.NaN;
+        }
+        synchronized (this) {
+            Float loudness = entries.get(key);
+            return loudness != null ? loudness : Float.NaN;
+        }
+    }
+
+    public void put(String key, float loudness) {
+        synchronized (this) {
+            entries.put(key, loudness);
+        }
+        executor.execute(() -> persist(key, loudness));
+    }
+
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+        }
+        executor.execute(() -> prefs().edit().clear().apply());
+    }
+
+    private SharedPreferences prefs() {
+        return appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    private void load() {
+        try {
+            Map<String, ?> stored = prefs().getAll();
+            synchronized (this) {
+                for (Map.Entry<String, ?> entry : stored.entrySet()) {
+                    // Entries measured since startup are newer; keep them
+                    if (entry.getValue() instanceof Float && !entries.containsKey(entry.getKey())) {
+                        entries.put(entry.getKey(), (Float) entry.getValue());
+                    }
+                }
+            }
+            Log.i(TAG, "Loaded loudness of " + stored.size() + " stream(s)");
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to load loudness cache", e);
+        } finally {
+            loaded = true;
+        }
+    }
+
+    private void persist(String key, float loudness) {
+        SharedPreferences.Editor editor = prefs().edit().putFloat(key, loudness);
+        synchronized (this) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            while (entries.size() > MAX_ENTRIES && eldest.hasNext()) {
+                editor.remove(eldest.next());
+                eldest.remove();
+            }
+        }
+        editor.apply();
+    }
+}
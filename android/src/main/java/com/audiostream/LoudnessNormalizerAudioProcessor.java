@@ -0,0 +1,568 @@
+package com.audiostream;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.audio.BaseAudioProcessor;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Loudness normalization in the style of EBU R128: integrated loudness is measured as the
+ * stream plays (ITU-R BS.1770 K-weighting, 400ms blocks every 100ms, absolute and relative
+ * gating over a histogram so memory stays fixed), and the gain towards the target level
+ * follows the measurement with a slow ramp. A 5ms lookahead peak limiter keeps boosted
+ * audio under -1 dBFS. Streams measured to the end are stored in the {@link LoudnessCache}
+ * under their cache key; a replay starts at its final gain and skips the analysis.
+ * Streams start where {@link StreamBoundaryAudioRenderer} says they do, so a gapless
+ * queue item is measured on its own; the player thread publishes the keys of the
+ * current and next item ahead of time. One instance per player; audio runs on
+ * ExoPlayer's internal playback thread.
+ */
+public class LoudnessNormalizerAudioProcessor extends BaseAudioProcessor
+        implements StreamBoundaryAudioRenderer.Listener {
+    private static final double ABSOLUTE_GATE_LUFS = -70;
+    private static final double RELATIVE_GATE_LU = -10;
+    private static final double HISTOGRAM_MAX_LUFS = 10;
+    private static final int HISTOGRAM_BINS_PER_LU = 10;
+    private static final int HISTOGRAM_BINS = (int) ((HISTOGRAM_MAX_LUFS - ABSOLUTE_GATE_LUFS) * HISTOGRAM_BINS_PER_LU);
+    private static final int HOPS_PER_BLOCK = 4;
+    // Blocks measured before the gain follows the measurement (3s), and before it is cached (10s)
+    private static final int MIN_BLOCKS_FOR_GAIN = 30;
+    private static final int MIN_BLOCKS_FOR_CACHE = 100;
+    // The gain closes a tenth of the remaining distance per hop, about a second to settle
+    private static final int GAIN_RAMP_HOPS = 10;
+    private static final double MAX_CUT_DB = 24;
+    private static final double LIMITER_CEILING = 0.891; // -1 dBFS
+    private static final int LIMITER_LOOKAHEAD_MS = 5;
+    private static final int LIMITER_RELEASE_MS = 100;
+    private static final int START_NONE = 0;
+    private static final int START_CONTINUOUS = 1;
+    private static final int START_FRESH = 2;
+
+    /**
+     * Options and latest figures shared by every player's processor
+     */
+    public static final class Settings {
+        public static final double DEFAULT_TARGET_LUFS = -16;
+        public static final double DEFAULT_MAX_GAIN_DB = 12;
+
+        private volatile boolean enabled = false;
+        private volatile double targetLufs = DEFAULT_TARGET_LUFS;
+        private volatile double maxGainDb = DEFAULT_MAX_GAIN_DB;
+        private final LoudnessCache cache;
+
+        // Latest figures of the processor that ran last
+        private volatile double integratedLufs = Double.NaN;
+        private volatile double gainDb = 0;
+        private volatile double limiterReductionDb = 0;
+        private volatile boolean fromCache = false;
+
+        public Settings(LoudnessCache cache) {
+            this.cache = cache;
+        }
+
+        /**
+         * Read {@code normalizeLoudness}, {@code loudnessTarget} (LUFS) and {@code loudnessMaxGain} (dB);
+         * a change applies from the next stream or seek
+         */
+        public void configure(@Nullable ReadableMap config) {
+            if (config == null) {
+                return;
+            }
+            if (config.hasKey("normalizeLoudness")) {
+                enabled = config.getBoolean("normalizeLoudness");
+            }
+            if (config.hasKey("loudnessTarget")) {
+                targetLufs = Math.max(-40, Math.min(0, config.getDouble("loudnessTarget")));
+            }
+            if (config.hasKey("loudnessMaxGain")) {
+                maxGainDb = Math.max(0, config.getDouble("loudnessMaxGain"));
+            }
+        }
+
+        public LoudnessNormalizerAudioProcessor newProcessor() {
+            return new LoudnessNormalizerAudioProcessor(this);
+        }
+
+        /**
+         * Add {@code loudnessIntegrated} (LUFS), {@code loudnessGain} (dB), {@code loudnessFromCache}
+         * and {@code limiterReduction} (dB) while normalization is on
+         */
+        public void writeTo(StatsSnapshot stats) {
+            if (!enabled) {
+                stats.remove("loudnessIntegrated");
+                stats.remove("loudnessGain");
+                stats.remove("loudnessFromCache");
+                stats.remove("limiterReduction");
+                return;
+            }
+            if (Double.isNaN(integratedLufs)) {
+                stats.remove("loudnessIntegrated");
+            } else {
+                stats.putDouble("loudnessIntegrated", integratedLufs);
+            }
+            stats.putDouble("loudnessGain", gainDb);
+            stats.putBoolean("loudnessFromCache", fromCache);
+            stats.putDouble("limiterReduction", limiterReductionDb);
+        }
+
+        private double gainFor(double loudness) {
+            return Math.max(-MAX_CUT_DB, Math.min(maxGainDb, targetLufs - loudness));
+        }
+    }
+
+    /**
+     * Keys of the player's current and next item; {@code item} counts media item transitions
+     */
+    private static final class StreamKeys {
+        @Nullable
+        final String current;
+        @Nullable
+        final String next;
+        final int item;
+
+        StreamKeys(@Nullable String current, @Nullable String next, int item) {
+            this.current = current;
+            this.next = next;
+            this.item = item;
+        }
+    }
+
+    private final Settings settings;
+
+    private volatile StreamKeys keys = new StreamKeys(null, null, 0);
+    private int pendingStart = START_FRESH;
+    // Item the stream being processed belongs to, and the item whose next key a gapless start used
+    private int startedItem = -1;
+    private int consumedItem = -1;
+    @Nullable
+    private String currentKey;
+
+    private boolean enabled = false;
+    private int encoding = C.ENCODING_INVALID;
+    private int sampleRate = 0;
+    private int channelCount = 0;
+
+    // K-weighting: pre-filter shelf then RLB high-pass; b0 b1 b2 a1 a2 each
+    private final double[] shelf = new double[5];
+    private final double[] highPass = new double[5];
+    private double[] filterState = new double[0]; // 4 per channel
+    private double[] frame = new double[0];
+
+    private boolean analyzing = false;
+    private int hopFrames = 0;
+    private int hopFill = 0;
+    private double hopEnergy = 0;
+    private final double[] hopEnergies = new double[HOPS_PER_BLOCK];
+    private long hopCount = 0;
+    private final long[] histogramCount = new long[HISTOGRAM_BINS];
+    private final double[] histogramEnergy = new double[HISTOGRAM_BINS];
+    private long blockCount = 0;
+    private double integratedLufs = Double.NaN;
+
+    private double gain = 1;
+    private double gainTarget = 1;
+    private double gainStep = 0;
+
+    // Limiter: delay line of lookahead frames, already scaled by the normalization gain
+    private double[] delay = new double[0];
+    private int delayFrames = 0;
+    private int delayPos = 0;
+    private int delayFill = 0;
+    private double limiterGain = 1;
+    private double limiterStep = 0;
+    private double limiterRelease = 0;
+    // Sliding minimum of the gain each frame in the delay line needs (monotonic deque)
+    private double[] windowNeeded = new double[0];
+    private long[] windowFrame = new long[0];
+    private int windowHead = 0;
+    private int windowSize = 0;
+    private long frameIndex = 0;
+
+    LoudnessNormalizerAudioProcessor(Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Cache keys of the player's current and next item, null for items without one (in-memory
+     * and real-time data); {@code itemChanged} on a media item transition. Player thread.
+     */
+    public void setStreamKeys(@Nullable String current, @Nullable String next, boolean itemChanged) {
+        StreamKeys previous = keys;
+        keys = new StreamKeys(current, next, itemChanged ? previous.item + 1 : previous.item);
+    }
+
+    @Override
+    public void onStreamStart(boolean continuous) {
+        if (pendingStart != START_FRESH) {
+            pendingStart = continuous ? START_CONTINUOUS : START_FRESH;
+        }
+    }
+
+    @Override
+    protected AudioFormat onConfigure(AudioFormat inputAudioFormat) throws UnhandledAudioFormatException {
+        if (inputAudioFormat.encoding != C.ENCODING_PCM_16BIT && inputAudioFormat.encoding != C.ENCODING_PCM_FLOAT) {
+            throw new UnhandledAudioFormatException(inputAudioFormat);
+        }
+        return inputAudioFormat;
+    }
+
+    @Override
+    protected void onFlush() {
+        AudioFormat format = inputAudioFormat;
+        boolean formatChanged = format.sampleRate != sampleRate || format.channelCount != channelCount;
+        enabled = settings.enabled;
+        encoding = format.encoding;
+        sampleRate = format.sampleRate;
+        channelCount = format.channelCount;
+        if (formatChanged) {
+            computeKWeighting();
+            filterState = new double[channelCount * 4];
+            frame = new double[channelCount];
+            hopFrames = sampleRate / 10;
+            delayFrames = Math.max(1, sampleRate * LIMITER_LOOKAHEAD_MS / 1000);
+            delay = new double[delayFrames * channelCount];
+            windowNeeded = new double[delayFrames + 1];
+            windowFrame = new long[delayFrames + 1];
+            limiterRelease = 1.0 / (sampleRate * LIMITER_RELEASE_MS / 1000.0);
+        }
+        Arrays.fill(delay, 0);
+        delayPos = 0;
+        delayFill = 0;
+        limiterGain = 1;
+        limiterStep = 0;
+        windowHead = 0;
+        windowSize = 0;
+        frameIndex = 0;
+    }
+
+    @Override
+    protected void onReset() {
+        sampleRate = 0;
+        channelCount = 0;
+        encoding = C.ENCODING_INVALID;
+        enabled = false;
+        pendingStart = START_FRESH;
+        startedItem = -1;
+        consumedItem = -1;
+    }
+
+    @Override
+    public void queueInput(ByteBuffer inputBuffer) {
+        int size = inputBuffer.remaining();
+        if (size == 0) {
+            return;
+        }
+        if (!enabled) {
+            replaceOutputBuffer(size).put(inputBuffer).flip();
+            return;
+        }
+        if (pendingStart != START_NONE) {
+            applyStreamStart();
+        }
+
+        boolean pcm16 = encoding == C.ENCODING_PCM_16BIT;
+        int bytesPerSample = pcm16 ? 2 : 4;
+        int frames = size / (bytesPerSample * channelCount);
+        ByteBuffer output = replaceOutputBuffer(frames * bytesPerSample * channelCount);
+        for (int i = 0; i < frames; i++) {
+            for (int channel = 0; channel < channelCount; channel++) {
+                frame[channel] = pcm16 ? inputBuffer.getShort() / 32768.0 : inputBuffer.getFloat();
+            }
+            if (analyzing) {
+                measure();
+            }
+            processFrame(output, pcm16);
+        }
+        inputBuffer.position(inputBuffer.limit());
+        output.flip();
+
+        settings.gainDb = 20 * Math.log10(gain);
+        settings.limiterReductionDb = 20 * Math.log10(limiterGain);
+    }
+
+    @Override
+    protected void onQueueEndOfStream() {
+        if (!enabled) {
+            return;
+        }
+        finishStream();
+        // Drain the limiter's lookahead, oldest frame first
+        boolean pcm16 = encoding == C.ENCODING_PCM_16BIT;
+        ByteBuffer output = replaceOutputBuffer(delayFill * channelCount * (pcm16 ? 2 : 4));
+        int oldest = delayFill < delayFrames ? 0 : delayPos;
+        for (int i = 0; i < delayFill; i++) {
+            int slot = ((oldest + i) % delayFrames) * channelCount;
+            for (int channel = 0; channel < channelCount; channel++) {
+                writeSample(output, delay[slot + channel] * limiterGain, pcm16);
+            }
+        }
+        delayFill = 0;
+        delayPos = 0;
+        output.flip();
+    }
+
+    /**
+     * Limit and write out the oldest frame of the delay line, then push {@link #frame} in
+     */
+    private void processFrame(ByteBuffer output, boolean pcm16) {
+        if (gain != gainTarget) {
+            gain += gainStep;
+            if ((gainStep > 0 && gain > gainTarget) || (gainStep < 0 && gain < gainTarget)) {
+                gain = gainTarget;
+            }
+        }
+
+        // Gain the incoming frame needs to stay under the ceiling when it leaves the delay line
+        double peak = 0;
+        for (int channel = 0; channel < channelCount; channel++) {
+            peak = Math.max(peak, Math.abs(frame[channel] * gain));
+        }
+        double needed = peak > LIMITER_CEILING ? LIMITER_CEILING / peak : 1;
+        double windowMin = pushNeeded(needed);
+        if (needed < limiterGain) {
+            // Reach it by the time this frame is output, without slowing an ongoing attack
+            limiterStep = Math.max(limiterStep, (limiterGain - needed) / delayFrames);
+        }
+        if (limiterGain > windowMin) {
+            limiterGain = Math.max(windowMin, limiterGain - limiterStep);
+        } else {
+            // Release, never above what a frame still in the delay line needs
+            limiterStep = 0;
+            limiterGain = Math.min(windowMin, limiterGain + limiterRelease);
+        }
+
+        int slot = delayPos * channelCount;
+        for (int channel = 0; channel < channelCount; channel++) {
+            double delayed = delay[slot + channel];
+            delay[slot + channel] = frame[channel] * gain;
+            if (delayFill < delayFrames) {
+                continue;
+            }
+            writeSample(output, delayed * limiterGain, pcm16);
+        }
+        delayPos = (delayPos + 1) % delayFrames;
+        if (delayFill < delayFrames) {
+            delayFill++;
+        }
+    }
+
+    /**
+     * Add the gain the newest frame needs and return the minimum over the frames in the delay line
+     */
+    private double pushNeeded(double needed) {
+        int capacity = windowNeeded.length;
+        while (windowSize > 0 && windowNeeded[(windowHead + windowSize - 1) % capacity] >= needed) {
+            windowSize--;
+        }
+        int tail = (windowHead + windowSize) % capacity;
+        windowNeeded[tail] = needed;
+        windowFrame[tail] = frameIndex;
+        windowSize++;
+        while (windowFrame[windowHead] <= frameIndex - capacity) {
+            windowHead = (windowHead + 1) % capacity;
+            windowSize--;
+        }
+        frameIndex++;
+        return windowNeeded[windowHead];
+    }
+
+    private void writeSample(ByteBuffer output, double sample, boolean pcm16) {
+        if (pcm16) {
+            int value = (int) Math.round(sample * 32768.0);
+            output.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+        } else {
+            output.putFloat((float) sample);
+        }
+    }
+
+    private void measure() {
+        double energy = 0;
+        for (int channel = 0; channel < channelCount; channel++) {
+            int s = channel * 4;
+            double x = frame[channel];
+            // Both stages in transposed direct form II, two state values each
+            double y1 = shelf[0] * x + filterState[s];
+            filterState[s] = shelf[1] * x - shelf[3] * y1 + filterState[s + 1];
+            filterState[s + 1] = shelf[2] * x - shelf[4] * y1;
+            double y2 = highPass[0] * y1 + filterState[s + 2];
+            filterState[s + 2] = highPass[1] * y1 - highPass[3] * y2 + filterState[s + 3];
+            filterState[s + 3] = highPass[2] * y1 - highPass[4] * y2;
+            energy += y2 * y2;
+        }
+        hopEnergy += energy;
+        if (++hopFill == hopFrames) {
+            endHop();
+        }
+    }
+
+    private void endHop() {
+        hopEnergies[(int) (hopCount % HOPS_PER_BLOCK)] = hopEnergy / hopFrames;
+        hopCount++;
+        hopEnergy = 0;
+        hopFill = 0;
+        if (hopCount < HOPS_PER_BLOCK) {
+            return;
+        }
+
+        double blockEnergy = 0;
+        for (double e : hopEnergies) {
+            blockEnergy += e;
+        }
+        blockEnergy /= HOPS_PER_BLOCK;
+        double blockLufs = toLufs(blockEnergy);
+        if (blockLufs > ABSOLUTE_GATE_LUFS) {
+            int bin = (int) ((blockLufs - ABSOLUTE_GATE_LUFS) * HISTOGRAM_BINS_PER_LU);
+            bin = Math.min(HISTOGRAM_BINS - 1, bin);
+            histogramCount[bin]++;
+            histogramEnergy[bin] += blockEnergy;
+            blockCount++;
+        }
+
+        if (blockCount >= MIN_BLOCKS_FOR_GAIN) {
+            integratedLufs = integratedLoudness();
+            settings.integratedLufs = integratedLufs;
+            setGainTarget(settings.gainFor(integratedLufs), false);
+        }
+    }
+
+    /**
+     * Gated mean over the histogram: blocks above the absolute gate, then only those
+     * within 10 LU of their mean
+     */
+    private double integratedLoudness() {
+        double energy = 0;
+        long count = 0;
+        for (int bin = 0; bin < HISTOGRAM_BINS; bin++) {
+            energy += histogramEnergy[bin];
+            count += histogramCount[bin];
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double relativeGate = toLufs(energy / count) + RELATIVE_GATE_LU;
+        int firstBin = Math.max(0, (int) Math.ceil((relativeGate - ABSOLUTE_GATE_LUFS) * HISTOGRAM_BINS_PER_LU));
+        energy = 0;
+        count = 0;
+        for (int bin = firstBin; bin < HISTOGRAM_BINS; bin++) {
+            energy += histogramEnergy[bin];
+            count += histogramCount[bin];
+        }
+        return count > 0 ? toLufs(energy / count) : Double.NaN;
+    }
+
+    /**
+     * Resolve the key of the stream starting with this buffer. A gapless start takes the next
+     * key, once per item: if the player has not moved on since, the key is not known yet and
+     * the stream is measured without being stored.
+     */
+    private void applyStreamStart() {
+        int start = pendingStart;
+        pendingStart = START_NONE;
+        StreamKeys current = keys;
+        if (start == START_CONTINUOUS) {
+            finishStream();
+            String key = null;
+            if (current.item != consumedItem) {
+                key = current.next;
+                consumedItem = current.item;
+            }
+            // The player reports the transition to this stream once it is heard
+            startedItem = current.item + 1;
+            startStream(key);
+        } else if (current.item == startedItem) {
+            // A seek within the stream restarts the measurement but keeps the gain
+            if (analyzing) {
+                resetMeasurement();
+            }
+        } else {
+            startedItem = current.item;
+            consumedItem = -1;
+            startStream(current.current);
+        }
+    }
+
+    private void startStream(@Nullable String key) {
+        currentKey = key;
+        resetMeasurement();
+        float cached = settings.cache.get(currentKey);
+        if (!Float.isNaN(cached)) {
+            // Measured before: final gain from the first buffer, nothing to analyze
+            analyzing = false;
+            integratedLufs = cached;
+            setGainTarget(settings.gainFor(cached), true);
+        } else {
+            analyzing = true;
+            integratedLufs = Double.NaN;
+            setGainTarget(0, true);
+        }
+        settings.integratedLufs = integratedLufs;
+        settings.fromCache = !analyzing;
+    }
+
+    /**
+     * Store the measurement of a stream that played long enough
+     */
+    private void finishStream() {
+        if (analyzing && currentKey != null && blockCount >= MIN_BLOCKS_FOR_CACHE && !Double.isNaN(integratedLufs)) {
+            settings.cache.put(currentKey, (float) integratedLoudness());
+        }
+        analyzing = false;
+    }
+
+    private void resetMeasurement() {
+        Arrays.fill(filterState, 0);
+        Arrays.fill(hopEnergies, 0);
+        Arrays.fill(histogramCount, 0);
+        Arrays.fill(histogramEnergy, 0);
+        hopFill = 0;
+        hopEnergy = 0;
+        hopCount = 0;
+        blockCount = 0;
+    }
+
+    private void setGainTarget(double gainDb, boolean immediate) {
+        gainTarget = Math.pow(10, gainDb / 20);
+        if (immediate) {
+            gain = gainTarget;
+            gainStep = 0;
+        } else {
+            gainStep = (gainTarget - gain) / (hopFrames * (double) GAIN_RAMP_HOPS);
+        }
+    }
+
+    /**
+     * BS.1770 K-weighting coefficients for the current sample rate
+     */
+    private void computeKWeighting() {
+        double f0 = 1681.974450955533;
+        double gainDb = 3.999843853973347;
+        double q = 0.7071752369554196;
+        double k = Math.tan(Math.PI * f0 / sampleRate);
+        double vh = Math.pow(10, gainDb / 20);
+        double vb = Math.pow(vh, 0.4996667741545416);
+        double a0 = 1 + k / q + k * k;
+        shelf[0] = (vh + vb * k / q + k * k) / a0;
+        shelf[1] = 2 * (k * k - vh) / a0;
+        shelf[2] = (vh - vb * k / q + k * k) / a0;
+        shelf[3] = 2 * (k * k - 1) / a0;
+        shelf[4] = (1 - k / q + k * k) / a0;
+
+        f0 = 38.13547087602444;
+        q = 0.5003270373238773;
+        k = Math.tan(Math.PI * f0 / sampleRate);
+        a0 = 1 + k / q + k * k;
+        highPass[0] = 1;
+        highPass[1] = -2;
+        highPass[2] = 1;
+        highPass[3] = 2 * (k * k - 1) / a0;
+        highPass[4] = (1 - k / q + k * k) / a0;
+    }
+
+    private static double toLufs(double meanSquare) {
+        return -0.691 + 10 * Math.log10(meanSquare);
+    }
+}
@@ -0,0 +1,163 @@
+package com.audiostream;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The module's only pool for blocking work: real-time ingest, preloads and other I/O.
+ * At most {@link #MAX_THREADS} threads exist, idle ones exit after {@link #KEEP_ALIVE_SECONDS},
+ * and {@link #shutdown()} stops them all. Work touching a player belongs on the
+ * {@link PlaybackThread} instead.
+ */
+public final class ModuleScheduler {
+    private static final String TAG = "ModuleScheduler";
+    private static final int MAX_THREADS = 3;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final AtomicInteger threadsCreated = new AtomicInteger();
+    private final CopyOnWriteArrayList<SerialExecutor> serialExecutors = new CopyOnWriteArrayList<>();
+    private ScheduledThreadPoolExecutor executor;
+
+    private synchronized ScheduledThreadPoolExecutor executor() {
+        if (executor == null || executor.isShutdown()) {
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "RNAudioStream-io-" + threadsCreated.incrementAndGet());
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            };
+            executor = new ScheduledThreadPoolExecutor(MAX_THREADS, factory);
+            executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            executor.allowCoreThreadTimeOut(true);
+            executor.setRemoveOnCancelPolicy(true);
+        }
+        return executor;
+    }
+
+    public void execute(Runnable task) {
+        executor().execute(task);
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return executor().schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Executor running its tasks one at a time in submission order on the shared pool,
+     * e.g. for chunks that must reach a stream in the order they were appended
+     */
+    public Executor newSerialExecutor() {
+        SerialExecutor serial = new SerialExecutor();
+        serialExecutors.add(serial);
+        return serial;
+    }
+
+    /**
+     * Stop all threads; queued tasks are dropped and running ones interrupted.
+     * The pool is recreated on the next submission. Tasks still waiting in a serial
+     * executor are kept and resume on the new pool, so their callers get an answer.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (executor == null) {
+                return;
+            }
+            int dropped = executor.shutdownNow().size();
+            executor = null;
+            Log.i(TAG, "Scheduler shut down, " + dropped + " queued task(s) dropped");
+        }
+        // Outside the lock: restarting a lane submits to the pool again
+        for (SerialExecutor serial : serialExecutors) {
+            serial.restart();
+        }
+    }
+
+    /**
+     * {@code ioThreads} (alive), {@code ioActive} (running a task), {@code ioQueued},
+     * {@code ioThreadsCreated} (since module start) and {@code processThreads}
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("ioThreads", executor != null ? executor.getPoolSize() : 0);
+        map.put("ioActive", executor != null ? executor.getActiveCount() : 0);
+        map.put("ioQueued", executor != null ? executor.getQueue().size() : 0);
+        map.put("ioThreadsCreated", threadsCreated.get());
+        map.put("processThreads", Thread.activeCount());
+        return map;
+    }
+
+    private final class SerialExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+        // Bumped by restart(), so a drain from the old pool stops taking tasks
+        private int generation;
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(task);
+            if (!running) {
+                start();
+            }
+        }
+
+        /**
+         * Forget the drain the shutdown dropped or interrupted, and drain what is left on the new pool
+         */
+        synchronized void restart() {
+            generation++;
+            running = false;
+            if (!tasks.isEmpty()) {
+                start();
+            }
+        }
+
+        // Guarded by this
+        private void start() {
+            running = true;
+            int drainGeneration = generation;
+            ModuleScheduler.this.execute(() -> drain(drainGeneration));
+        }
+
+        private void drain(int drainGeneration) {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    if (drainGeneration != generation) {
+                        return;
+                    }
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                boolean completed = false;
+                try {
+                    task.run();
+                    completed = true;
+                } finally {
+                    if (!completed) {
+                        // The task threw: hand the rest of the queue to a fresh drain
+                        synchronized (this) {
+                            if (drainGeneration == generation) {
+                                running = false;
+                                if (!tasks.isEmpty()) {
+                                    start();
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.audiostream;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * Network instrumentation for the shared client and the stream data sources.
+ * The OkHttp {@link EventListener} side records per-request DNS, connect, TLS, TTFB
+ * and server wait times, and whether the connection was warm (pooled, e.g. pre-warmed
+ * by {@link ConnectionWarmer}) or cold. The {@link TransferListener} side measures
+ * throughput over the time network transfers are actually active.
+ * Timings are kept in rolling windows of the latest {@link #WINDOW_SIZE} samples.
+ */
+@UnstableApi
+public final class NetworkMetrics implements EventListener.Factory, TransferListener {
+    private static final NetworkMetrics INSTANCE = new NetworkMetrics();
+
+    static final int WINDOW_SIZE = 50;
+    // Throughput is sampled once this much active transfer time has accumulated
+    private static final long THROUGHPUT_SAMPLE_NS = 1000000000L;
+    private static final long MIN_THROUGHPUT_SAMPLE_NS = 50000000L;
+
+    private final AtomicLong warmConnections = new AtomicLong();
+    private final AtomicLong warmConnectTimeMs = new AtomicLong();
+    private final AtomicLong coldConnections = new AtomicLong();
+    private final AtomicLong coldConnectTimeMs = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failedRequestCount = new AtomicLong();
+
+    private final RollingWindow dnsTimes = new RollingWindow(WINDOW_SIZE);
+    private final RollingWindow connectTimes = new RollingWindow(WINDOW_SIZE);
+    private final RollingWindow tlsTimes = new RollingWindow(WINDOW_SIZE);
+    private final RollingWindow ttfbTimes = new RollingWindow(WINDOW_SIZE);
+    private final RollingWindow waitTimes = new RollingWindow(WINDOW_SIZE);
+    private final RollingWindow throughputs = new RollingWindow(WINDOW_SIZE);
+
+    // Transfer accounting, guarded by this
+    private int activeTransfers;
+    private long totalBytes;
+    private long sampleBytes;
+    private long sampleActiveNs;
+    private long activeSinceNs;
+
+    private NetworkMetrics() {
+    }
+
+    public static NetworkMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Wrap a network factory so its data sources report transfers to these metrics
+     */
+    public DataSource.Factory wrap(DataSource.Factory upstreamFactory) {
+        return () -> {
+            DataSource dataSource = upstreamFactory.createDataSource();
+            dataSource.addTransferListener(this);
+            return dataSource;
+        };
+    }
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallListener();
+    }
+
+    /**
+     * Rolling throughput average in bytes per second, or 0 without samples
+     */
+    public double getThroughput() {
+        return throughputs.average();
+    }
+
+    /**
+     * Rolling median time from request sent to response headers (ms), or 0 without samples
+     */
+    public double getLatency() {
+        return waitTimes.percentile(50);
+    }
+
+    /**
+     * Add warm/cold connection counts and average acquisition times (ms) to the stats
+     */
+    public void writeTo(StatsSnapshot stats) {
+        long warm = warmConnections.get();
+        long cold = coldConnections.get();
+        stats.putDouble("warmConnections", warm);
+        stats.putDouble("coldConnections", cold);
+        stats.putDouble("warmConnectTime", warm > 0 ? (double) warmConnectTimeMs.get() / warm : 0);
+        stats.putDouble("coldConnectTime", cold > 0 ? (double) coldConnectTimeMs.get() / cold : 0);
+    }
+
+    /**
+     * Detailed rolling-window metrics: per-phase timings (ms), throughput (bytes/s) and totals
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> network = new HashMap<>();
+        network.put("dns", dnsTimes.toMap());
+        network.put("connect", connectTimes.toMap());
+        network.put("tls", tlsTimes.toMap());
+        network.put("ttfb", ttfbTimes.toMap());
+        network.put("latency", waitTimes.toMap());
+        network.put("throughput", throughputs.toMap());
+        synchronized (this) {
+            network.put("bytesReceived", (double) totalBytes);
+        }
+        network.put("requestCount", (double) requestCount.get());
+        network.put("failedRequestCount", (double) failedRequestCount.get());
+        return network;
+    }
+
+    // TransferListener
+
+    @Override
+    public void onTransferInitializing(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+    }
+
+    @Override
+    public synchronized void onTransferStart(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        if (!isNetwork) {
+            return;
+        }
+        if (activeTransfers++ == 0) {
+            activeSinceNs = System.nanoTime();
+        }
+    }
+
+    @Override
+    public synchronized void onBytesTransferred(DataSource source, DataSpec dataSpec, boolean isNetwork, int bytesTransferred) {
+        if (!isNetwork) {
+            return;
+        }
+        totalBytes += bytesTransferred;
+        sampleBytes += bytesTransferred;
+
+        long now = System.nanoTime();
+        if (activeTransfers > 0 && sampleActiveNs + (now - activeSinceNs) >= THROUGHPUT_SAMPLE_NS) {
+            sampleActiveNs += now - activeSinceNs;
+            activeSinceNs = now;
+            commitThroughputSample();
+        }
+    }
+
+    @Override
+    public synchronized void onTransferEnd(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        if (!isNetwork || activeTransfers == 0) {
+            return;
+        }
+        if (--activeTransfers == 0) {
+            // Idle gaps between segment requests are not counted as transfer time
+            sampleActiveNs += System.nanoTime() - activeSinceNs;
+            if (sampleActiveNs >= MIN_THROUGHPUT_SAMPLE_NS) {
+                commitThroughputSample();
+            }
+        }
+    }
+
+    private void commitThroughputSample() {
+        throughputs.add(sampleBytes * 1e9 / sampleActiveNs);
+        sampleBytes = 0;
+        sampleActiveNs = 0;
+    }
+
+    /**
+     * Per-call listener; OkHttp creates one for every call
+     */
+    private final class CallListener extends EventListener {
+        private long callStartNs;
+        private long dnsStartNs;
+        private long connectStartNs;
+        private long secureConnectStartNs;
+        private long requestSentNs;
+        private boolean connected;
+        private boolean acquired;
+        private boolean firstByte;
+
+        @Override
+        public void callStart(Call call) {
+            callStartNs = System.nanoTime();
+            requestCount.incrementAndGet();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            dnsTimes.add(elapsedMs(dnsStartNs));
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connected = true;
+            connectStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, @Nullable Handshake handshake) {
+            tlsTimes.add(elapsedMs(secureConnectStartNs));
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, @Nullable Protocol protocol) {
+            // TCP + TLS for this route
+            connectTimes.add(elapsedMs(connectStartNs));
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            if (acquired) {
+                return;
+            }
+            acquired = true;
+
+            long elapsed = (long) elapsedMs(callStartNs);
+            if (connected) {
+                coldConnections.incrementAndGet();
+                coldConnectTimeMs.addAndGet(elapsed);
+            } else {
+                warmConnections.incrementAndGet();
+                warmConnectTimeMs.addAndGet(elapsed);
+            }
+        }
+
+        @Override
+        public void requestHeadersEnd(Call call, Request request) {
+            requestSentNs = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            // Redirects and retries reuse the listener; only the first response counts
+            if (firstByte) {
+                return;
+            }
+            firstByte = true;
+            ttfbTimes.add(elapsedMs(callStartNs));
+            if (requestSentNs != 0) {
+                waitTimes.add(elapsedMs(requestSentNs));
+            }
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            failedRequestCount.incrementAndGet();
+        }
+
+        private double elapsedMs(long startNs) {
+            return (System.nanoTime() - startNs) / 1e6;
+        }
+    }
+
+    /**
+     * Fixed-size window of the latest samples with average and percentiles
+     */
+    static final class RollingWindow {
+        private final double[] samples;
+        private int count;
+        private int next;
+
+        RollingWindow(int size) {
+            samples = new double[size];
+        }
+
+        synchronized void add(double value) {
+            samples[next] = value;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        synchronized double average() {
+            if (count == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += samples[i];
+            }
+            return sum / count;
+        }
+
+        synchronized double percentile(int percentile) {
+            return percentile(sorted(), percentile);
+        }
+
+        Map<String, Object> toMap() {
+            double[] sorted = sorted();
+            double sum = 0;
+            for (double value : sorted) {
+                sum += value;
+            }
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("samples", sorted.length);
+            map.put("avg", sorted.length > 0 ? sum / sorted.length : 0);
+            map.put("p50", percentile(sorted, 50));
+            map.put("p90", percentile(sorted, 90));
+            map.put("p95", percentile(sorted, 95));
+            map.put("max", sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+            return map;
+        }
+
+        private synchronized double[] sorted() {
+            double[] copy = Arrays.copyOf(samples, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        // Nearest-rank percentile
+        private static double percentile(double[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+    }
+}
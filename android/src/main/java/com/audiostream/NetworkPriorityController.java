@@ -0,0 +1,178 @@
+package com.audiostream;
+
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.util.PriorityTaskManager;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.PriorityDataSource;
+import androidx.media3.datasource.TransferListener;
+import androidx.media3.exoplayer.ExoPlayer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Network priority scheme built on Media3's PriorityTaskManager.
+ *
+ * The player registers itself at {@link C#PRIORITY_PLAYBACK} while it is loading, and
+ * background work (preloads, downloads) runs at {@link #PRIORITY_BACKGROUND} through
+ * PriorityDataSource, so foreground playback preempts background fetches automatically.
+ * With "low" priority the roles flip: the player is detached and stream loads wait while
+ * background work is active. With "high" priority background work also waits while the
+ * player is idle between loads, for as long as a player is attached.
+ */
+@UnstableApi
+public final class NetworkPriorityController {
+    private static final String TAG = "NetworkPriority";
+
+    public static final int PRIORITY_BACKGROUND = C.PRIORITY_DOWNLOAD;
+    private static final int PRIORITY_STREAM_LOW = PRIORITY_BACKGROUND - 1;
+    private static final int PRIORITY_STREAM_HIGH = C.PRIORITY_PLAYBACK;
+
+    private final PriorityTaskManager taskManager = new PriorityTaskManager();
+    private volatile String priority = "normal";
+    @Nullable
+    private ExoPlayer player;
+    // Whether PRIORITY_STREAM_HIGH is registered for the attached player
+    private boolean holdingHigh = false;
+
+    public PriorityTaskManager getTaskManager() {
+        return taskManager;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    /**
+     * Register the player with the task manager. Must be called on the player's thread.
+     */
+    public void attachPlayer(@Nullable ExoPlayer player) {
+        this.player = player;
+        applyToPlayer();
+    }
+
+    /**
+     * Change the stream priority at runtime ("low", "normal" or "high").
+     * Must be called on the player's thread.
+     */
+    public void setPriority(String priority) {
+        if (!"low".equals(priority) && !"normal".equals(priority) && !"high".equals(priority)) {
+            throw new IllegalArgumentException("Unknown network priority: " + priority);
+        }
+        this.priority = priority;
+        applyToPlayer();
+        Log.i(TAG, "Network priority set to " + priority);
+    }
+
+    private boolean isLow() {
+        return "low".equals(priority);
+    }
+
+    private void applyToPlayer() {
+        if (player != null) {
+            player.setPriorityTaskManager(isLow() ? null : taskManager);
+        }
+        boolean holdHigh = player != null && "high".equals(priority);
+        if (holdHigh != holdingHigh) {
+            if (holdHigh) {
+                taskManager.add(PRIORITY_STREAM_HIGH);
+            } else {
+                taskManager.remove(PRIORITY_STREAM_HIGH);
+            }
+            holdingHigh = holdHigh;
+        }
+    }
+
+    /**
+     * Wrap the upstream of a playback source so it yields to background work when the
+     * priority is "low". At "normal"/"high" the player's own registration takes precedence.
+     */
+    public DataSource.Factory wrapStreamFactory(DataSource.Factory upstreamFactory) {
+        return () -> new StreamPriorityDataSource(upstreamFactory.createDataSource());
+    }
+
+    /**
+     * Wrap the upstream of background work (preload/download) so it is preempted by playback
+     */
+    public DataSource.Factory wrapBackgroundFactory(DataSource.Factory upstreamFactory) {
+        return new PriorityDataSource.Factory(upstreamFactory, taskManager, PRIORITY_BACKGROUND);
+    }
+
+    /**
+     * DataSource that blocks (instead of failing) while higher-priority work is active.
+     * At "low" it registers itself until closed, since the task manager only lets a
+     * registered priority proceed.
+     */
+    private final class StreamPriorityDataSource implements DataSource {
+        private final DataSource upstream;
+        private boolean registered = false;
+
+        StreamPriorityDataSource(DataSource upstream) {
+            this.upstream = upstream;
+        }
+
+        private void awaitTurn() throws IOException {
+            if (!isLow()) {
+                return;
+            }
+            if (!registered) {
+                taskManager.add(PRIORITY_STREAM_LOW);
+                registered = true;
+            }
+            try {
+                taskManager.proceed(PRIORITY_STREAM_LOW);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void addTransferListener(TransferListener transferListener) {
+            upstream.addTransferListener(transferListener);
+        }
+
+        @Override
+        public long open(DataSpec dataSpec) throws IOException {
+            awaitTurn();
+            return upstream.open(dataSpec);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            awaitTurn();
+            return upstream.read(buffer, offset, length);
+        }
+
+        @Nullable
+        @Override
+        public Uri getUri() {
+            return upstream.getUri();
+        }
+
+        @Override
+        public Map<String, List<String>> getResponseHeaders() {
+            return upstream.getResponseHeaders();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                upstream.close();
+            } finally {
+                if (registered) {
+                    taskManager.remove(PRIORITY_STREAM_LOW);
+                    registered = false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package com.audiostream;
+
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.PlaybackException;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.BaseDataSource;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.HttpDataSource.HttpDataSourceException;
+import androidx.media3.datasource.HttpDataSource.InvalidResponseCodeException;
+import androidx.media3.datasource.TransferListener;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * DataSource that downloads a progressive file over several concurrent byte-range
+ * requests and serves it to the player sequentially.
+ *
+ * The first range is streamed directly while the following ranges are fetched in
+ * parallel on the OkHttp dispatcher. Range size adapts to measured throughput so each
+ * request stays around {@link #TARGET_CHUNK_DURATION_MS}. Servers without range support
+ * fall back to a single sequential response.
+ */
+@UnstableApi
+public class ParallelRangeDataSource extends BaseDataSource {
+    private static final String TAG = "ParallelRangeDS";
+
+    /**
+     * Prefetched ranges in flight per source; more only adds memory, as OkHttp's per-host
+     * request limit caps the real concurrency
+     */
+    public static final int MAX_CONNECTIONS = 4;
+
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_CHUNK_SIZE = 2 * 1024 * 1024;
+    private static final long TARGET_CHUNK_DURATION_MS = 2000;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    // DataSource.Factory implementation for Media3
+    public static class Factory implements DataSource.Factory {
+        private final OkHttpClient client;
+        private final int connections;
+        private final int initialChunkSize;
+        private Map<String, String> requestProperties = Collections.emptyMap();
+        @Nullable
+        private String userAgent;
+        @Nullable
+        private TransferListener transferListener;
+
+        public Factory(OkHttpClient client, int connections, int initialChunkSize) {
+            this.client = client;
+            this.connections = Math.max(1, Math.min(connections,
+                    Math.min(MAX_CONNECTIONS, client.dispatcher().getMaxRequestsPerHost())));
+            this.initialChunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, initialChunkSize));
+        }
+
+        public Factory setDefaultRequestProperties(Map<String, String> requestProperties) {
+            this.requestProperties = requestProperties;
+            return this;
+        }
+
+        public Factory setUserAgent(@Nullable String userAgent) {
+            this.userAgent = userAgent;
+            return this;
+        }
+
+        public Factory setTransferListener(@Nullable TransferListener transferListener) {
+            this.transferListener = transferListener;
+            return this;
+        }
+
+        @Override
+        public DataSource createDataSource() {
+            ParallelRangeDataSource dataSource = new ParallelRangeDataSource(
+                    client, connections, initialChunkSize, requestProperties, userAgent);
+            if (transferListener != null) {
+                dataSource.addTransferListener(transferListener);
+            }
+            return dataSource;
+        }
+    }
+
+    /**
+     * One byte range being filled by a background request
+     */
+    private static final class Chunk {
+        final long start;
+        final int length;
+        // May be longer than the range when reused from a previous chunk
+        final byte[] data;
+        final long requestedAtMs;
+        @Nullable
+        Call call;
+        private int filled;
+        private boolean done;
+        @Nullable
+        private IOException error;
+
+        Chunk(long start, int length, byte[] data) {
+            this.start = start;
+            this.length = length;
+            this.data = data;
+            this.requestedAtMs = System.currentTimeMillis();
+        }
+
+        synchronized void onBytes(int count) {
+            filled += count;
+            notifyAll();
+        }
+
+        synchronized void finish(@Nullable IOException error) {
+            this.error = error;
+            this.done = true;
+            notifyAll();
+        }
+
+        /**
+         * Block until bytes past {@code offset} exist; returns 0 when the range ended short
+         */
+        synchronized int awaitAvailable(int offset) throws IOException {
+            while (filled <= offset && !done) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            if (filled > offset) {
+                return filled - offset;
+            }
+            if (error != null) {
+                throw error;
+            }
+            return 0;
+        }
+    }
+
+    private final OkHttpClient client;
+    private final int connections;
+    private final int initialChunkSize;
+    private final Map<String, String> defaultRequestProperties;
+    @Nullable
+    private final String userAgent;
+
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+    // Buffers of fully read chunks, reused for the next ranges instead of allocating new ones
+    private final ArrayDeque<byte[]> freeBuffers = new ArrayDeque<>();
+    @Nullable
+    private DataSpec dataSpec;
+    @Nullable
+    private Response headResponse;
+    @Nullable
+    private InputStream headStream;
+    private boolean opened;
+    private long bytesRemaining;
+    // Bytes the head range still owes before the prefetched ranges take over, or LENGTH_UNSET
+    // when the head response is the whole stream
+    private long headBytesRemaining;
+    private long endPosition;
+    private long nextChunkStart;
+    private int chunkReadOffset;
+    // Exponentially weighted throughput estimate in bytes per second
+    private volatile long throughputBytesPerSecond;
+
+    public ParallelRangeDataSource(OkHttpClient client,
+                                   int connections,
+                                   int initialChunkSize,
+                                   Map<String, String> defaultRequestProperties,
+                                   @Nullable String userAgent) {
+        super(/* isNetwork= */ true);
+        this.client = client;
+        this.connections = connections;
+        this.initialChunkSize = initialChunkSize;
+        this.defaultRequestProperties = defaultRequestProperties;
+        this.userAgent = userAgent;
+    }
+
+    @Override
+    public long open(DataSpec dataSpec) throws HttpDataSourceException {
+        this.dataSpec = dataSpec;
+        chunkReadOffset = 0;
+        transferInitializing(dataSpec);
+
+        long position = dataSpec.position;
+        long requestedEnd = dataSpec.length != C.LENGTH_UNSET ? position + dataSpec.length : C.LENGTH_UNSET;
+        long headEnd = position + initialChunkSize;
+        if (requestedEnd != C.LENGTH_UNSET) {
+            headEnd = Math.min(headEnd, requestedEnd);
+        }
+
+        Response response = execute(buildRequest(dataSpec, position, headEnd - 1), dataSpec);
+        headResponse = response;
+        headStream = response.body().byteStream();
+
+        Matcher range = response.code() == 206 ? CONTENT_RANGE.matcher(response.header("Content-Range", "")) : null;
+        if (range != null && range.matches() && !"*".equals(range.group(3))) {
+            // Ranges supported and total length known: stream the head range, prefetch the rest
+            long total = Long.parseLong(range.group(3));
+            endPosition = requestedEnd != C.LENGTH_UNSET ? Math.min(requestedEnd, total) : total;
+            nextChunkStart = Long.parseLong(range.group(2)) + 1;
+            headBytesRemaining = Math.min(nextChunkStart, endPosition) - position;
+            bytesRemaining = endPosition - position;
+            scheduleChunks();
+        } else {
+            // No usable range support: serve one sequential response
+            Log.d(TAG, "Range planning unavailable, streaming sequentially");
+            endPosition = requestedEnd;
+            nextChunkStart = C.LENGTH_UNSET;
+            headBytesRemaining = C.LENGTH_UNSET;
+            if (response.code() == 206) {
+                // Total length unknown, so the head range is not enough; request the remainder
+                closeHead();
+                response = execute(buildRequest(dataSpec, position,
+                        requestedEnd != C.LENGTH_UNSET ? requestedEnd - 1 : C.LENGTH_UNSET), dataSpec);
+                headResponse = response;
+                headStream = response.body().byteStream();
+            }
+            if (response.code() == 200 && position > 0) {
+                skipFully(headStream, position, dataSpec);
+            }
+
+            long contentLength = response.body().contentLength();
+            if (requestedEnd != C.LENGTH_UNSET) {
+                bytesRemaining = dataSpec.length;
+            } else if (contentLength != -1) {
+                bytesRemaining = response.code() == 200 ? contentLength - position : contentLength;
+            } else {
+                bytesRemaining = C.LENGTH_UNSET;
+            }
+        }
+
+        opened = true;
+        transferStarted(dataSpec);
+        return bytesRemaining;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws HttpDataSourceException {
+        if (length == 0) {
+            return 0;
+        }
+        if (bytesRemaining == 0) {
+            return C.RESULT_END_OF_INPUT;
+        }
+
+        int toRead = bytesRemaining == C.LENGTH_UNSET ? length : (int) Math.min(length, bytesRemaining);
+        try {
+            if (headStream != null) {
+                int read = headStream.read(buffer, offset, headBytesRemaining == C.LENGTH_UNSET
+                        ? toRead : (int) Math.min(toRead, headBytesRemaining));
+                if (read != -1) {
+                    if (headBytesRemaining != C.LENGTH_UNSET) {
+                        headBytesRemaining -= read;
+                        if (headBytesRemaining == 0) {
+                            // The prefetched ranges continue exactly where the head ends
+                            closeHead();
+                        }
+                    }
+                    onRead(read);
+                    return read;
+                }
+                if (headBytesRemaining != C.LENGTH_UNSET) {
+                    // The next range starts past the missing bytes, so they cannot be skipped
+                    throw new EOFException("Head range ended " + headBytesRemaining + " bytes early");
+                }
+                closeHead();
+                return C.RESULT_END_OF_INPUT;
+            }
+
+            Chunk chunk = chunks.peekFirst();
+            if (chunk == null) {
+                return C.RESULT_END_OF_INPUT;
+            }
+
+            int available = chunk.awaitAvailable(chunkReadOffset);
+            if (available == 0) {
+                throw new EOFException("Range at " + chunk.start + " ended early");
+            }
+
+            int read = Math.min(available, toRead);
+            System.arraycopy(chunk.data, chunkReadOffset, buffer, offset, read);
+            chunkReadOffset += read;
+            if (chunkReadOffset == chunk.length) {
+                // Fully written and read, so nothing touches the buffer any more
+                chunks.pollFirst();
+                freeBuffers.addLast(chunk.data);
+                chunkReadOffset = 0;
+                scheduleChunks();
+            }
+            onRead(read);
+            return read;
+        } catch (HttpDataSourceException e) {
+            // An HTTP error from a prefetched range keeps its response code for the retry policy
+            throw e;
+        } catch (IOException e) {
+            throw new HttpDataSourceException(e, dataSpec,
+                    PlaybackException.ERROR_CODE_IO_NETWORK_CONNECTION_FAILED, HttpDataSourceException.TYPE_READ);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Uri getUri() {
+        return headResponse != null ? Uri.parse(headResponse.request().url().toString())
+                : dataSpec != null ? dataSpec.uri : null;
+    }
+
+    @Override
+    public void close() {
+        closeHead();
+        // Cancelled calls may still be writing, so these buffers are not reused
+        for (Chunk chunk : chunks) {
+            if (chunk.call != null) {
+                chunk.call.cancel();
+            }
+        }
+        chunks.clear();
+        if (opened) {
+            opened = false;
+            transferEnded();
+        }
+    }
+
+    /**
+     * Keep up to {@code connections} ranges in flight ahead of the read position
+     */
+    private void scheduleChunks() {
+        while (chunks.size() < connections && nextChunkStart != C.LENGTH_UNSET && nextChunkStart < endPosition) {
+            int size = (int) Math.min(nextChunkSize(), endPosition - nextChunkStart);
+            Chunk chunk = new Chunk(nextChunkStart, size, obtainBuffer(size));
+            nextChunkStart += size;
+            chunks.addLast(chunk);
+            fetch(chunk);
+        }
+    }
+
+    private byte[] obtainBuffer(int size) {
+        byte[] buffer = freeBuffers.pollFirst();
+        return buffer != null && buffer.length >= size ? buffer : new byte[size];
+    }
+
+    private int nextChunkSize() {
+        long throughput = throughputBytesPerSecond;
+        if (throughput <= 0) {
+            return initialChunkSize;
+        }
+        long size = throughput * TARGET_CHUNK_DURATION_MS / 1000;
+        return (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size));
+    }
+
+    private void fetch(Chunk chunk) {
+        Call call = client.newCall(buildRequest(dataSpec, chunk.start, chunk.start + chunk.length - 1));
+        chunk.call = call;
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                chunk.finish(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    ResponseBody body = r.body();
+                    if (!r.isSuccessful()) {
+                        chunk.finish(invalidResponseCode(r, dataSpec));
+                        return;
+                    }
+                    if (r.code() != 206 || body == null) {
+                        chunk.finish(new IOException("Unexpected range response: HTTP " + r.code()));
+                        return;
+                    }
+                    InputStream stream = body.byteStream();
+                    int filled = 0;
+                    while (filled < chunk.length) {
+                        int read = stream.read(chunk.data, filled, chunk.length - filled);
+                        if (read == -1) {
+                            break;
+                        }
+                        filled += read;
+                        chunk.onBytes(read);
+                    }
+                    recordThroughput(filled, System.currentTimeMillis() - chunk.requestedAtMs);
+                    chunk.finish(null);
+                } catch (IOException e) {
+                    chunk.finish(e);
+                }
+            }
+        });
+    }
+
+    private void recordThroughput(int bytes, long elapsedMs) {
+        if (bytes <= 0 || elapsedMs <= 0) {
+            return;
+        }
+        long sample = bytes * 1000L / elapsedMs;
+        long previous = throughputBytesPerSecond;
+        throughputBytesPerSecond = previous == 0 ? sample : (previous * 7 + sample * 3) / 10;
+    }
+
+    private Request buildRequest(DataSpec dataSpec, long start, long endInclusive) {
+        Map<String, String> headers = new HashMap<>(defaultRequestProperties);
+        headers.putAll(dataSpec.httpRequestHeaders);
+
+        Request.Builder builder = new Request.Builder().url(dataSpec.uri.toString());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        if (userAgent != null) {
+            builder.header("User-Agent", userAgent);
+        }
+        // Transparent gzip would break byte offsets
+        builder.header("Accept-Encoding", "identity");
+        builder.header("Range", endInclusive == C.LENGTH_UNSET
+                ? "bytes=" + start + "-"
+                : "bytes=" + start + "-" + endInclusive);
+        return builder.build();
+    }
+
+    private Response execute(Request request, DataSpec dataSpec) throws HttpDataSourceException {
+        Response response;
+        try {
+            response = client.newCall(request).execute();
+        } catch (IOException e) {
+            throw new HttpDataSourceException(e, dataSpec,
+                    PlaybackException.ERROR_CODE_IO_NETWORK_CONNECTION_FAILED, HttpDataSourceException.TYPE_OPEN);
+        }
+        if (!response.isSuccessful()) {
+            try (Response r = response) {
+                throw invalidResponseCode(r, dataSpec);
+            }
+        }
+        if (response.body() == null) {
+            response.close();
+            throw new HttpDataSourceException("HTTP " + response.code(), dataSpec,
+                    PlaybackException.ERROR_CODE_IO_BAD_HTTP_STATUS, HttpDataSourceException.TYPE_OPEN);
+        }
+        return response;
+    }
+
+    /**
+     * Same exception OkHttpDataSource throws, so the load error policy sees the response code
+     */
+    private static InvalidResponseCodeException invalidResponseCode(Response response, DataSpec dataSpec) {
+        byte[] errorBody;
+        try {
+            ResponseBody body = response.body();
+            errorBody = body != null ? body.bytes() : Util.EMPTY_BYTE_ARRAY;
+        } catch (IOException e) {
+            errorBody = Util.EMPTY_BYTE_ARRAY;
+        }
+        return new InvalidResponseCodeException(response.code(), response.message(), null,
+                response.headers().toMultimap(), dataSpec, errorBody);
+    }
+
+    private void onRead(int read) {
+        if (bytesRemaining != C.LENGTH_UNSET) {
+            bytesRemaining -= read;
+        }
+        bytesTransferred(read);
+    }
+
+    private void skipFully(InputStream stream, long count, DataSpec dataSpec) throws HttpDataSourceException {
+        byte[] skipBuffer = new byte[4096];
+        try {
+            while (count > 0) {
+                int read = stream.read(skipBuffer, 0, (int) Math.min(count, skipBuffer.length));
+                if (read == -1) {
+                    throw new EOFException();
+                }
+                count -= read;
+            }
+        } catch (IOException e) {
+            throw new HttpDataSourceException(e, dataSpec,
+                    PlaybackException.ERROR_CODE_IO_READ_POSITION_OUT_OF_RANGE, HttpDataSourceException.TYPE_OPEN);
+        }
+    }
+
+    private void closeHead() {
+        if (headResponse != null) {
+            headResponse.close();
+            headResponse = null;
+        }
+        headStream = null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.audiostream;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.MediaSource;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queue of stream items mirrored one-to-one into the player's playlist, so ExoPlayer
+ * handles gapless transitions and buffers the next item ahead of the boundary.
+ * Every mutation is applied to both the list and the player at the same index.
+ * All methods must be called on the player thread.
+ */
+@UnstableApi
+public class PlaybackQueue {
+
+    public static final class Item {
+        public final String id;
+        public final String url;
+        @Nullable
+        public final StreamLoadErrorHandlingPolicy loadErrorPolicy;
+
+        public Item(String id, String url, @Nullable StreamLoadErrorHandlingPolicy loadErrorPolicy) {
+            this.id = id;
+            this.url = url;
+            this.loadErrorPolicy = loadErrorPolicy;
+        }
+    }
+
+    private final List<Item> items = new ArrayList<>();
+    private int generatedIds = 0;
+
+    public String generateId() {
+        return "item-" + (++generatedIds);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Replace the queue and the player's playlist, starting at {@code startIndex}
+     */
+    public void set(ExoPlayer player, List<Item> newItems, List<MediaSource> sources, int startIndex) {
+        items.clear();
+        items.addAll(newItems);
+        player.setMediaSources(sources, Math.max(0, Math.min(startIndex, sources.size() - 1)), C.TIME_UNSET);
+    }
+
+    /**
+     * Take over a single stream already playing (from startStream) as the first item
+     */
+    public void adopt(Item current) {
+        items.clear();
+        items.add(current);
+    }
+
+    /**
+     * Insert items at {@code index}, or append when the index is negative or past the end
+     */
+    public void add(ExoPlayer player, int index, List<Item> newItems, List<MediaSource> sources) {
+        int position = index < 0 || index > items.size() ? items.size() : index;
+        items.addAll(position, newItems);
+        player.addMediaSources(position, sources);
+    }
+
+    public boolean remove(ExoPlayer player, String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        items.remove(index);
+        player.removeMediaItem(index);
+        return true;
+    }
+
+    public boolean move(ExoPlayer player, String id, int toIndex) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        int target = Math.max(0, Math.min(toIndex, items.size() - 1));
+        items.add(target, items.remove(index));
+        player.moveMediaItem(index, target);
+        return true;
+    }
+
+    public boolean skipTo(ExoPlayer player, String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        player.seekToDefaultPosition(index);
+        return true;
+    }
+
+    /**
+     * Remove every item except the one playing
+     */
+    public void clearUpcoming(ExoPlayer player) {
+        int current = player.getCurrentMediaItemIndex();
+        if (current < 0 || current >= items.size()) {
+            return;
+        }
+        if (current + 1 < items.size()) {
+            player.removeMediaItems(current + 1, items.size());
+        }
+        if (current > 0) {
+            player.removeMediaItems(0, current);
+        }
+        Item playing = items.get(current);
+        items.clear();
+        items.add(playing);
+    }
+
+    /**
+     * Forget the queue; the caller replaces or clears the player's playlist itself
+     */
+    public void clear() {
+        items.clear();
+    }
+
+    @Nullable
+    public Item get(int index) {
+        return index >= 0 && index < items.size() ? items.get(index) : null;
+    }
+
+    public int indexOf(String id) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).id.equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Queue state for JS: {@code items} ({@code id}, {@code url}), {@code currentIndex} and {@code currentId}
+     */
+    public WritableMap toWritableMap(@Nullable ExoPlayer player) {
+        WritableArray itemArray = Arguments.createArray();
+        for (Item item : items) {
+            WritableMap map = Arguments.createMap();
+            map.putString("id", item.id);
+            map.putString("url", item.url);
+            itemArray.pushMap(map);
+        }
+
+        int currentIndex = player != null && !items.isEmpty() ? player.getCurrentMediaItemIndex() : -1;
+        Item current = get(currentIndex);
+
+        WritableMap state = Arguments.createMap();
+        state.putArray("items", itemArray);
+        state.putInt("currentIndex", current != null ? currentIndex : -1);
+        if (current != null) {
+            state.putString("currentId", current.id);
+        } else {
+            state.putNull("currentId");
+        }
+        return state;
+    }
+}
@@ -0,0 +1,103 @@
+package com.audiostream;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Message;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Application thread of the players. Every player is built with this looper and
+ * all module work touching a player is posted here, keeping it off the UI thread.
+ * The time each posted call takes is recorded for getStats.
+ */
+public final class PlaybackThread {
+    private static final String TAG = "PlaybackThread";
+    private static final int WINDOW_SIZE = 100;
+    // Calls longer than this would have dropped a frame on the UI thread
+    private static final long SLOW_CALL_MS = 16;
+
+    private final HandlerThread thread;
+    private final Handler handler;
+    private final NetworkMetrics.RollingWindow callTimes = new NetworkMetrics.RollingWindow(WINDOW_SIZE);
+    private long callCount = 0;
+    private long slowCallCount = 0;
+
+    public PlaybackThread() {
+        thread = new HandlerThread("RNAudioStream-player", Process.THREAD_PRIORITY_AUDIO);
+        thread.start();
+        handler = new TimedHandler(thread.getLooper());
+    }
+
+    public Looper getLooper() {
+        return thread.getLooper();
+    }
+
+    public Handler getHandler() {
+        return handler;
+    }
+
+    public boolean isCurrentThread() {
+        return Looper.myLooper() == thread.getLooper();
+    }
+
+    public void post(Runnable runnable) {
+        handler.post(runnable);
+    }
+
+    public void postDelayed(Runnable runnable, long delayMs) {
+        handler.postDelayed(runnable, delayMs);
+    }
+
+    public void removeCallbacks(Runnable runnable) {
+        handler.removeCallbacks(runnable);
+    }
+
+    /**
+     * Stop the thread after the calls already posted have run
+     */
+    public void quit() {
+        thread.quitSafely();
+    }
+
+    /**
+     * Add {@code playerThreadCallTime} (ms per posted call: samples, avg, p50, p90, p95, max),
+     * {@code playerThreadCalls} and {@code playerThreadSlowCalls} (over one 60Hz frame) to stats
+     */
+    public void writeTo(StatsSnapshot stats) {
+        stats.putMap("playerThreadCallTime", callTimes.toMap());
+        synchronized (this) {
+            stats.putDouble("playerThreadCalls", callCount);
+            stats.putDouble("playerThreadSlowCalls", slowCallCount);
+        }
+    }
+
+    private void record(long elapsedMs, Message msg) {
+        callTimes.add(elapsedMs);
+        synchronized (this) {
+            callCount++;
+            if (elapsedMs > SLOW_CALL_MS) {
+                slowCallCount++;
+                Log.w(TAG, "Slow player call: " + elapsedMs + "ms " + (msg.getCallback() != null ? msg.getCallback() : msg));
+            }
+        }
+    }
+
+    private final class TimedHandler extends Handler {
+        TimedHandler(Looper looper) {
+            super(looper);
+        }
+
+        @Override
+        public void dispatchMessage(Message msg) {
+            long start = SystemClock.uptimeMillis();
+            try {
+                super.dispatchMessage(msg);
+            } finally {
+                record(SystemClock.uptimeMillis() - start, msg);
+            }
+        }
+    }
+}
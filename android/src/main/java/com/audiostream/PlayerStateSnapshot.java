@@ -0,0 +1,107 @@
+package com.audiostream;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
+
+/**
+ * Copy of the player values behind the synchronous getters. Written on the player
+ * thread on player events and ticks, read from the JS thread without touching the
+ * player. Values are swapped as one immutable object, so a read is always consistent;
+ * while playing, the position is extrapolated from the last sample.
+ */
+public final class PlayerStateSnapshot {
+    private static final class Values {
+        final long positionMs;
+        final long bufferedPositionMs;
+        final long durationMs;
+        final long sampledAtMs;
+        final float speed;
+        final float volume;
+        final boolean playing;
+
+        Values(long positionMs, long bufferedPositionMs, long durationMs, long sampledAtMs,
+               float speed, float volume, boolean playing) {
+            this.positionMs = positionMs;
+            this.bufferedPositionMs = bufferedPositionMs;
+            this.durationMs = durationMs;
+            this.sampledAtMs = sampledAtMs;
+            this.speed = speed;
+            this.volume = volume;
+            this.playing = playing;
+        }
+    }
+
+    private volatile Values values = new Values(0, 0, C.TIME_UNSET, 0, 1f, 1f, false);
+
+    /**
+     * Sample {@code player}; with no player only the volume is kept. Player thread only.
+     */
+    public void update(@Nullable Player player, float volume) {
+        if (player == null) {
+            values = new Values(0, 0, C.TIME_UNSET, SystemClock.elapsedRealtime(), 1f, volume, false);
+            return;
+        }
+        values = new Values(
+                player.getCurrentPosition(),
+                player.getBufferedPosition(),
+                player.getDuration(),
+                SystemClock.elapsedRealtime(),
+                player.getPlaybackParameters().speed,
+                volume,
+                player.isPlaying());
+    }
+
+    /**
+     * Current position in seconds
+     */
+    public double getCurrentTime() {
+        return currentPositionMs(values) / 1000.0;
+    }
+
+    /**
+     * Duration in seconds, 0 when unknown (e.g. live)
+     */
+    public double getDuration() {
+        Values v = values;
+        return v.durationMs != C.TIME_UNSET ? v.durationMs / 1000.0 : 0;
+    }
+
+    public double getVolume() {
+        return values.volume;
+    }
+
+    public double getPlaybackRate() {
+        return values.speed;
+    }
+
+    /**
+     * Buffered share of the duration, or for live/unknown durations the buffer ahead
+     * relative to 30 seconds, in percent
+     */
+    public int getBufferedPercentage() {
+        Values v = values;
+        long position = currentPositionMs(v);
+        if (v.durationMs != C.TIME_UNSET && v.durationMs > 0) {
+            return (int) ((v.bufferedPositionMs * 100) / v.durationMs);
+        }
+        long bufferAhead = v.bufferedPositionMs - position;
+        return bufferAhead > 0 ? Math.min(100, (int) ((bufferAhead * 100) / 30000)) : 0;
+    }
+
+    private static long currentPositionMs(Values v) {
+        if (!v.playing) {
+            return v.positionMs;
+        }
+        long elapsed = SystemClock.elapsedRealtime() - v.sampledAtMs;
+        long position = v.positionMs + (long) (elapsed * v.speed);
+        // Never run past what is buffered or the end of the item
+        position = Math.min(position, Math.max(v.positionMs, v.bufferedPositionMs));
+        if (v.durationMs != C.TIME_UNSET) {
+            position = Math.min(position, v.durationMs);
+        }
+        return position;
+    }
+}
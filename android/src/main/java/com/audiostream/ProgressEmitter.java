@@ -0,0 +1,151 @@
+package com.audiostream;
+
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
+
+/**
+ * Drives onStreamProgress from the player thread. Ticks only run while the player is
+ * playing, at most every {@code intervalMs}, and an event is only sent when the position
+ * moved at least {@code thresholdMs} since the last one. With {@code alignToFrame} ticks
+ * follow the display vsync through {@link Choreographer}, so events arrive in step with
+ * JS frames. All methods must be called on the player thread.
+ */
+public class ProgressEmitter {
+    public static final long DEFAULT_INTERVAL_MS = 100;
+    public static final long DEFAULT_THRESHOLD_MS = 50;
+    private static final long MIN_INTERVAL_MS = 16;
+    private static final long FRAME_MS = 16;
+
+    public interface Listener {
+        void onProgress(long positionMs, long durationMs);
+    }
+
+    private final PlaybackThread thread;
+    private final Listener listener;
+
+    @Nullable
+    private Player player;
+    private long intervalMs = DEFAULT_INTERVAL_MS;
+    private long thresholdMs = DEFAULT_THRESHOLD_MS;
+    private boolean alignToFrame = false;
+
+    private boolean running = false;
+    private long lastPositionMs = C.TIME_UNSET;
+    private long lastEmitMs = 0;
+    private long emittedCount = 0;
+    private long skippedCount = 0;
+
+    private final Runnable tick = this::tick;
+    private final Choreographer.FrameCallback frameTick = frameTimeNanos -> tick();
+
+    public ProgressEmitter(PlaybackThread thread, Listener listener) {
+        this.thread = thread;
+        this.listener = listener;
+    }
+
+    public void configure(long intervalMs, long thresholdMs, boolean alignToFrame) {
+        this.intervalMs = Math.max(MIN_INTERVAL_MS, intervalMs);
+        this.thresholdMs = Math.max(0, thresholdMs);
+        this.alignToFrame = alignToFrame;
+        if (running) {
+            cancelTick();
+            scheduleTick();
+        }
+    }
+
+    /**
+     * Follow {@code player}, the active player; null when it is released
+     */
+    public void setPlayer(@Nullable Player player) {
+        stop();
+        this.player = player;
+        lastPositionMs = C.TIME_UNSET;
+        update();
+    }
+
+    /**
+     * Start or stop ticking to match the player's playing state. When playback stops,
+     * the final position is sent once so a paused UI shows where it stopped.
+     */
+    public void update() {
+        boolean playing = player != null && player.isPlaying();
+        if (playing && !running) {
+            running = true;
+            emitIfMoved(true);
+            scheduleTick();
+        } else if (!playing && running) {
+            stop();
+            emitIfMoved(false);
+        }
+    }
+
+    /**
+     * Send the current position now, e.g. after a seek, if it differs from the last one
+     */
+    public void emitNow() {
+        emitIfMoved(false);
+    }
+
+    public void stop() {
+        running = false;
+        cancelTick();
+    }
+
+    /**
+     * Add {@code progressEventCount} and {@code progressSkippedCount} (ticks without enough movement)
+     */
+    public void writeTo(StatsSnapshot stats) {
+        stats.putDouble("progressEventCount", emittedCount);
+        stats.putDouble("progressSkippedCount", skippedCount);
+    }
+
+    private void tick() {
+        if (!running) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        // Frame callbacks may arrive a little before the interval is up
+        if (now - lastEmitMs >= intervalMs - FRAME_MS / 2) {
+            emitIfMoved(true);
+        }
+        scheduleTick();
+    }
+
+    private void emitIfMoved(boolean applyThreshold) {
+        if (player == null) {
+            return;
+        }
+        long position = player.getCurrentPosition();
+        if (lastPositionMs != C.TIME_UNSET) {
+            long moved = Math.abs(position - lastPositionMs);
+            if (moved == 0 || (applyThreshold && moved < thresholdMs)) {
+                skippedCount++;
+                return;
+            }
+        }
+        lastPositionMs = position;
+        lastEmitMs = SystemClock.uptimeMillis();
+        emittedCount++;
+        listener.onProgress(position, player.getDuration());
+    }
+
+    private void scheduleTick() {
+        if (alignToFrame) {
+            // Choreographer is per looper; this runs on the player thread's
+            Choreographer.getInstance().postFrameCallbackDelayed(frameTick, Math.max(0, intervalMs - FRAME_MS));
+        } else {
+            thread.postDelayed(tick, intervalMs);
+        }
+    }
+
+    private void cancelTick() {
+        thread.removeCallbacks(tick);
+        if (thread.isCurrentThread()) {
+            Choreographer.getInstance().removeFrameCallback(frameTick);
+        }
+    }
+}
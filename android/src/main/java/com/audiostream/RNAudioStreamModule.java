@@ -1,6 +1,8 @@
 package com.audiostream;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.media.AudioAttributes;
 import android.media.AudioFocusRequest;
 import android.media.AudioManager;
@@ -8,7 +10,6 @@ import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.app.ActivityManager;
 import android.app.Activity;
@@ -16,7 +17,6 @@ import android.app.Activity;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
@@ -40,15 +40,18 @@ import androidx.media3.database.StandaloneDatabaseProvider;
 import androidx.media3.datasource.ByteArrayDataSource;
 import androidx.media3.datasource.DataSource;
 import androidx.media3.datasource.DefaultDataSource;
-import androidx.media3.datasource.DefaultHttpDataSource;
 import androidx.media3.datasource.FileDataSource;
 import androidx.media3.datasource.cache.Cache;
 import androidx.media3.datasource.cache.CacheDataSource;
-import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor;
-import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.datasource.cache.CacheKeyFactory;
 import androidx.media3.datasource.okhttp.OkHttpDataSource;
-import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.DefaultLivePlaybackSpeedControl;
 import androidx.media3.exoplayer.DefaultRenderersFactory;
+import androidx.media3.exoplayer.audio.AudioRendererEventListener;
+import androidx.media3.exoplayer.audio.AudioSink;
+import androidx.media3.exoplayer.audio.DefaultAudioSink;
+import androidx.media3.exoplayer.audio.TeeAudioProcessor;
+import androidx.media3.exoplayer.mediacodec.MediaCodecSelector;
 import androidx.media3.exoplayer.ExoPlayer;
 import androidx.media3.exoplayer.LoadControl;
 import androidx.media3.exoplayer.MediaClock;
@@ -71,45 +74,75 @@ import androidx.media3.extractor.DefaultExtractorsFactory;
 import androidx.media3.extractor.ExtractorsFactory;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import android.util.Base64;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.BlockingQueue;
 
 import javax.annotation.Nullable;
 
-import okhttp3.OkHttpClient;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-public class RNAudioStreamModule extends ReactContextBaseJavaModule {
+public class RNAudioStreamModule extends AudioStreamSpec {
     private static final String TAG = "RNAudioStream";
-    private static final String MODULE_NAME = "RNAudioStream";
+    static final String MODULE_NAME = "RNAudioStream";
+    private static final long DEFAULT_PLAYER_IDLE_TIMEOUT_MS = 30000;
+    private static final long DEFAULT_STATS_INTERVAL_MS = 1000;
+    private static final long DEFAULT_LIVE_TARGET_OFFSET_MS = 3000;
+    private static final long DEFAULT_LIVE_MAX_OFFSET_MS = 10000;
 
     private final ReactApplicationContext reactContext;
     private ExoPlayer player;
     private AudioManager audioManager;
-    private SimpleCache cache;
-    private DataSource.Factory dataSourceFactory;
-    private Handler mainHandler;
-    private Timer progressTimer;
-    private Timer statsTimer;
+    private final AudioCacheManager cacheManager;
+    private final NetworkPriorityController priorityController = new NetworkPriorityController();
+    private final StreamPreloader preloader;
+    private StreamCacheKeyFactory cacheKeyFactory;
+    private final PlaybackThread playbackThread;
+    private final ModuleScheduler scheduler = new ModuleScheduler();
+    private final ConnectionWarmer connectionWarmer = new ConnectionWarmer(scheduler);
+    private final ProgressEmitter progressEmitter;
+    private final EventBatcher eventBatcher;
+    private final StatsSnapshot statsSnapshot = new StatsSnapshot();
+    private final PlayerStateSnapshot playerState = new PlayerStateSnapshot();
+    private final LevelMeter levelMeter = new LevelMeter();
+    private final EqualizerAudioProcessor.Settings equalizer = new EqualizerAudioProcessor.Settings();
+    private final SilenceTrimmingAudioProcessor.Settings silenceTrimming = new SilenceTrimmingAudioProcessor.Settings();
+    private final LoudnessNormalizerAudioProcessor.Settings loudness;
+    private final SharedPlaybackState sharedState;
+    private long statsIntervalMs = DEFAULT_STATS_INTERVAL_MS;
+    // Real-time chunks must reach the stream in the order they were appended
+    private final Executor ingestExecutor = scheduler.newSerialExecutor();
     
     private boolean isInitialized = false;
     private String currentUrl = null;
     private ReadableMap config;
-    private long totalBytesReceived = 0;
-    private long bufferStartTime = 0;
     private DefaultBandwidthMeter bandwidthMeter;
+    private SwitchableLoadControl loadControl;
+    private float volume = 1f;
+    @Nullable
+    private StandbyPlayer standbyPlayer;
+    private final PlaybackQueue playbackQueue = new PlaybackQueue();
+    private final Crossfader crossfader;
+    private boolean memoryCallbacksRegistered = false;
     private AudioFocusRequest audioFocusRequest; // Store for later abandon
+    private StreamLoadErrorHandlingPolicy loadErrorPolicy;
+    private int reconnectCount = 0;
+    private long playerIdleTimeoutMs = DEFAULT_PLAYER_IDLE_TIMEOUT_MS;
+    private final Runnable idleReleaseRunnable = this::releasePlayer;
+    private int consecutiveReconnects = 0;
 
     // Playback states
     private enum PlaybackState {
@@ -133,7 +166,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
         }
     }
 
-    private PlaybackState currentState = PlaybackState.IDLE;
+    private volatile PlaybackState currentState = PlaybackState.IDLE;
 
     // iOS 26 Feature Placeholders for Android
     private File streamingFile = null;
@@ -152,7 +185,15 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
         super(reactContext);
         this.reactContext = reactContext;
         this.audioManager = (AudioManager) reactContext.getSystemService(Context.AUDIO_SERVICE);
-        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.playbackThread = new PlaybackThread();
+        this.crossfader = new Crossfader(playbackThread.getHandler());
+        this.progressEmitter = new ProgressEmitter(playbackThread, this::sendProgress);
+        this.eventBatcher = new EventBatcher(playbackThread, this::emitEvent);
+        this.sharedState = new SharedPlaybackState(playbackThread, levelMeter, () -> currentState.ordinal());
+        this.cacheManager = AudioCacheManager.getInstance(reactContext);
+        this.preloader = new StreamPreloader(cacheManager, priorityController, scheduler.newSerialExecutor());
+        this.loudness = new LoudnessNormalizerAudioProcessor.Settings(
+                new LoudnessCache(reactContext, scheduler.newSerialExecutor()));
     }
 
     @Override
@@ -173,12 +214,50 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                 setupCache(config);
             }
             
+            // Stable cache keys for signed/tokenized URLs
+            cacheKeyFactory = StreamCacheKeyFactory.fromConfig(config);
+            
+            // Loudness normalization towards a target level, with measured loudness kept per cache key
+            loudness.configure(config);
+            
+            // How long an idle player stays warm between streams before it is released
+            if (config.hasKey("playerIdleTimeout")) {
+                playerIdleTimeoutMs = (long) config.getDouble("playerIdleTimeout");
+            }
+            
+            // onStreamProgress rate: interval, minimum position change and vsync alignment
+            long progressInterval = config.hasKey("progressInterval")
+                    ? (long) config.getDouble("progressInterval") : ProgressEmitter.DEFAULT_INTERVAL_MS;
+            long progressThreshold = config.hasKey("progressThreshold")
+                    ? (long) config.getDouble("progressThreshold") : ProgressEmitter.DEFAULT_THRESHOLD_MS;
+            boolean progressAlignToFrame = config.hasKey("progressAlignToFrame") && config.getBoolean("progressAlignToFrame");
+            playbackThread.post(() -> progressEmitter.configure(progressInterval, progressThreshold, progressAlignToFrame));
+            
+            // Opt-in: coalesce playback events into one onStreamEvents emission per window
+            eventBatcher.configure(config.hasKey("batchEvents") && config.getBoolean("batchEvents"),
+                    config.hasKey("eventBatchWindow") ? (long) config.getDouble("eventBatchWindow") : EventBatcher.DEFAULT_WINDOW_MS);
+            
+            // onStreamStats cadence; 0 turns the events off (getStats/getStatsSnapshot still work)
+            if (config.hasKey("statsInterval")) {
+                statsIntervalMs = Math.max(0, (long) config.getDouble("statsInterval"));
+            }
+            
+            // Bytes of real-time data to collect before playback starts
+            if (config.hasKey("prebufferThreshold")) {
+                prebufferThreshold = config.getInt("prebufferThreshold") * 1024L;
+            }
+            
             // Setup data source factory
             setupDataSourceFactory();
             
             // Initialize player
             initializePlayer();
             
+            if (!memoryCallbacksRegistered) {
+                reactContext.registerComponentCallbacks(memoryCallbacks);
+                memoryCallbacksRegistered = true;
+            }
+            
             isInitialized = true;
             promise.resolve(true);
         } catch (Exception e) {
@@ -188,120 +267,367 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     }
 
     private void setupCache(ReadableMap config) {
-        int cacheSize = config.hasKey("cacheSize") ? config.getInt("cacheSize") * 1024 * 1024 : 100 * 1024 * 1024;
-        File cacheDir = new File(reactContext.getCacheDir(), "audio_cache");
-        cache = new SimpleCache(cacheDir, new LeastRecentlyUsedCacheEvictor(cacheSize));
+        long cacheSize = config.hasKey("cacheSize") ? config.getInt("cacheSize") * 1024L * 1024L : 100L * 1024 * 1024;
+        // Partitions load on a background thread; the first cache read waits for them
+        cacheManager.initializeAsync(AudioCacheManager.DEFAULT_PARTITION, cacheSize);
+        
+        // Independent partitions with their own byte budget (MB), e.g. { music: 200, tts: 20 }
+        if (config.hasKey("cachePartitions") && !config.isNull("cachePartitions")) {
+            ReadableMap partitions = config.getMap("cachePartitions");
+            ReadableMapKeySetIterator iterator = partitions.keySetIterator();
+            while (iterator.hasNextKey()) {
+                String name = iterator.nextKey();
+                long partitionSize = (long) (partitions.getDouble(name) * 1024 * 1024);
+                cacheManager.initializeAsync(name, partitionSize);
+            }
+        }
     }
 
     private void setupDataSourceFactory() {
-        OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .readTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .build();
+        // One tuned client (pool, dispatcher, timeouts) shared by every network source
+        SharedOkHttpClient.configure(config);
         
         // Ensure bandwidthMeter is initialized
         if (bandwidthMeter == null) {
             bandwidthMeter = new DefaultBandwidthMeter.Builder(reactContext).build();
         }
+    }
 
-        DataSource.Factory httpDataSourceFactory = new OkHttpDataSource.Factory(okHttpClient)
+    private OkHttpDataSource.Factory createHttpDataSourceFactory(Map<String, String> headers) {
+        OkHttpDataSource.Factory httpDataSourceFactory = new OkHttpDataSource.Factory(SharedOkHttpClient.get())
                 .setUserAgent(Util.getUserAgent(reactContext, "RNAudioStream"))
                 .setTransferListener(bandwidthMeter);
+        if (!headers.isEmpty()) {
+            httpDataSourceFactory.setDefaultRequestProperties(headers);
+        }
+        return httpDataSourceFactory;
+    }
 
-        if (cache != null) {
-            dataSourceFactory = new CacheDataSource.Factory()
-                    .setCache(cache)
-                    .setUpstreamDataSourceFactory(httpDataSourceFactory)
-                    .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR);
+    /**
+     * Network DataSource.Factory for a stream. Every protocol goes through OkHttp and the
+     * bandwidth meter, and through the selected cache partition when caching is enabled.
+     */
+    private DataSource.Factory createNetworkDataSourceFactory(Map<String, String> headers,
+                                                              boolean useCache,
+                                                              @Nullable String cachePartition,
+                                                              int parallelConnections) {
+        if (bandwidthMeter == null) {
+            bandwidthMeter = new DefaultBandwidthMeter.Builder(reactContext).build();
+        }
+
+        DataSource.Factory httpDataSourceFactory;
+        if (parallelConnections > 1) {
+            // Opt-in multi-connection range fetching for large progressive files
+            int chunkSize = config != null && config.hasKey("parallelChunkSize")
+                    ? config.getInt("parallelChunkSize") * 1024
+                    : 256 * 1024;
+            httpDataSourceFactory = new ParallelRangeDataSource.Factory(SharedOkHttpClient.get(), parallelConnections, chunkSize)
+                    .setDefaultRequestProperties(headers)
+                    .setUserAgent(Util.getUserAgent(reactContext, "RNAudioStream"))
+                    .setTransferListener(bandwidthMeter);
         } else {
-            dataSourceFactory = httpDataSourceFactory;
+            httpDataSourceFactory = createHttpDataSourceFactory(headers);
+        }
+        
+        // Lets playback yield to background work when the network priority is "low"
+        httpDataSourceFactory = priorityController.wrapStreamFactory(httpDataSourceFactory);
+        httpDataSourceFactory = NetworkMetrics.getInstance().wrap(httpDataSourceFactory);
+
+        if (!useCache) {
+            return httpDataSourceFactory;
+        }
+
+        return cacheManager.createDataSourceFactory(
+                cachePartition != null ? cachePartition : AudioCacheManager.DEFAULT_PARTITION,
+                httpDataSourceFactory,
+                cacheKeyFactory != null ? cacheKeyFactory : CacheKeyFactory.DEFAULT);
+    }
+
+    /**
+     * Playback events of the active player; a prepared standby player has no listener
+     */
+    private final Player.Listener playerListener = new Player.Listener() {
+        @Override
+        public void onPlaybackStateChanged(int playbackState) {
+            handlePlaybackStateChange(playbackState);
+        }
+
+        @Override
+        public void onPlayerError(PlaybackException error) {
+            handlePlayerError(error);
+        }
+
+        @Override
+        public void onIsPlayingChanged(boolean isPlaying) {
+            if (isPlaying) {
+                updateState(PlaybackState.PLAYING);
+            }
+            progressEmitter.update();
+        }
+
+        @Override
+        public void onEvents(Player player, Player.Events events) {
+            // Keep the state-driven stats fields and the sync getters current between ticks
+            updatePlayerStats();
+            playerState.update(player, volume);
+            sharedState.update();
+        }
+
+        @Override
+        public void onPositionDiscontinuity(Player.PositionInfo oldPosition, Player.PositionInfo newPosition, int reason) {
+            if (reason == Player.DISCONTINUITY_REASON_SEEK || reason == Player.DISCONTINUITY_REASON_SEEK_ADJUSTMENT) {
+                progressEmitter.emitNow();
+            }
+        }
+
+        @Override
+        public void onTimelineChanged(Timeline timeline, int reason) {
+            if (reason == Player.TIMELINE_CHANGE_REASON_SOURCE_UPDATE) {
+                extractAndSendMetadata();
+            }
+        }
+
+        @Override
+        public void onMediaMetadataChanged(MediaMetadata metadata) {
+            extractAndSendMetadata();
+        }
+
+        @Override
+        public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+            if (!playbackQueue.isEmpty()) {
+                handleQueueTransition();
+            }
+        }
+
+        @Override
+        public void onPlayWhenReadyChanged(boolean playWhenReady, int reason) {
+            if (!playWhenReady && reason == Player.PLAY_WHEN_READY_CHANGE_REASON_END_OF_MEDIA_ITEM) {
+                Log.i(TAG, "Media item ended naturally");
+                updateState(PlaybackState.COMPLETED);
+                sendEvent("onStreamEnd", Arguments.createMap());
+                cleanup(true);
+            }
+        }
+    };
+
+    /**
+     * Drops the standby player when the system runs low on memory
+     */
+    private final ComponentCallbacks2 memoryCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+                playbackThread.post(RNAudioStreamModule.this::releaseStandbyPlayer);
+            }
+        }
+
+        @Override
+        public void onLowMemory() {
+            playbackThread.post(RNAudioStreamModule.this::releaseStandbyPlayer);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+    };
+
+    /**
+     * Run {@code task} on the player thread, directly when already there
+     */
+    private void runOnPlayerThread(Runnable task) {
+        if (playbackThread.isCurrentThread()) {
+            task.run();
+        } else {
+            playbackThread.post(task);
         }
     }
 
     private void initializePlayer() {
+        playbackThread.post(this::createPlayer);
+    }
+
+    /**
+     * Build the player; must run on the player thread
+     */
+    private void createPlayer() {
         if (player != null) {
             return;
         }
 
-        mainHandler.post(() -> {
-            try {
-                // Create LoadControl for better buffering
-                DefaultLoadControl loadControl = new DefaultLoadControl.Builder()
-                        .setBufferDurationsMs(
-                                30000,  // Min buffer: 30 seconds
-                                60000,  // Max buffer: 60 seconds
-                                2500,   // Buffer for playback: 2.5 seconds  
-                                5000    // Buffer for playback after rebuffer: 5 seconds
-                        )
-                        .setTargetBufferBytes(C.LENGTH_UNSET)
-                        .setPrioritizeTimeOverSizeThresholds(true)
-                        .build();
-
-                // Track selector with better performance
-                TrackSelector trackSelector = new DefaultTrackSelector(reactContext);
-                
-                // Create ExoPlayer with optimized settings
-                player = new ExoPlayer.Builder(reactContext)
-                        .setLoadControl(loadControl)
-                        .setTrackSelector(trackSelector)
-                        .setBandwidthMeter(bandwidthMeter)
-                        .setSeekBackIncrementMs(10000)
-                        .setSeekForwardIncrementMs(10000)
-                        .build();
+        try {
+            // Buffering profile, switchable per stream; bufferSize sizes the allocator segments
+            int segmentSize = config != null && config.hasKey("bufferSize") ? config.getInt("bufferSize") * 1024 : 0;
+            loadControl = new SwitchableLoadControl(BufferProfile.fromConfig(config), segmentSize);
 
-                // Handle playback events
-                player.addListener(new Player.Listener() {
-                    @Override
-                    public void onPlaybackStateChanged(int playbackState) {
-                        handlePlaybackStateChange(playbackState);
-                    }
+            player = buildPlayer(loadControl);
+            player.setVolume(volume);
+            player.addListener(playerListener);
 
-                    @Override
-                    public void onPlayerError(PlaybackException error) {
-                        handlePlayerError(error);
-                    }
+            // Playback loads preempt background fetches at the current network priority
+            priorityController.attachPlayer(player);
+            progressEmitter.setPlayer(player);
+            sharedState.setPlayer(player);
 
-                    @Override
-                    public void onIsPlayingChanged(boolean isPlaying) {
-                        if (isPlaying) {
-                            updateState(PlaybackState.PLAYING);
-                        }
-                    }
-
-                    @Override
-                    public void onTimelineChanged(Timeline timeline, int reason) {
-                        if (reason == Player.TIMELINE_CHANGE_REASON_SOURCE_UPDATE) {
-                            extractAndSendMetadata();
-                        }
-                    }
+            Log.i(TAG, "ExoPlayer initialized successfully");
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to initialize ExoPlayer", e);
+        }
+    }
 
-                    @Override
-                    public void onMediaMetadataChanged(MediaMetadata metadata) {
-                        extractAndSendMetadata();
-                    }
+    private ExoPlayer buildPlayer(SwitchableLoadControl loadControl) {
+        // Track selector with better performance
+        TrackSelector trackSelector = new DefaultTrackSelector(reactContext);
+        
+        // Live catch-up: smaller target offset increase after a rebuffer in live mode
+        boolean liveMode = config != null && config.hasKey("liveMode") && config.getBoolean("liveMode");
+        DefaultLivePlaybackSpeedControl liveSpeedControl = new DefaultLivePlaybackSpeedControl.Builder()
+                .setTargetLiveOffsetIncrementOnRebufferMs(liveMode ? 250 : 500)
+                .build();
+        
+        // Output PCM passes through silence trimming, loudness normalization, the equalizer,
+        // then the level meter, on its way to the AudioTrack. The renderer tells the
+        // trimmer and the normalizer where each stream starts.
+        SilenceTrimmingAudioProcessor trimmer = silenceTrimming.newProcessor();
+        LoudnessNormalizerAudioProcessor normalizer = loudness.newProcessor();
+        DefaultRenderersFactory renderersFactory = new DefaultRenderersFactory(reactContext) {
+            @Override
+            protected void buildAudioRenderers(Context context,
+                                               int extensionRendererMode,
+                                               MediaCodecSelector mediaCodecSelector,
+                                               boolean enableDecoderFallback,
+                                               AudioSink audioSink,
+                                               Handler eventHandler,
+                                               AudioRendererEventListener eventListener,
+                                               ArrayList<Renderer> out) {
+                out.add(new StreamBoundaryAudioRenderer(context, mediaCodecSelector, enableDecoderFallback,
+                        eventHandler, eventListener, audioSink, trimmer, normalizer));
+            }
 
-                    @Override
-                    public void onPlayWhenReadyChanged(boolean playWhenReady, int reason) {
-                        if (!playWhenReady && reason == Player.PLAY_WHEN_READY_CHANGE_REASON_END_OF_MEDIA_ITEM) {
-                            Log.i(TAG, "Media item ended naturally");
-                            updateState(PlaybackState.COMPLETED);
-                            sendEvent("onStreamEnd", Arguments.createMap());
-                            cleanup();
-                        }
-                    }
-                });
+            @Override
+            protected AudioSink buildAudioSink(Context context, boolean enableFloatOutput, boolean enableAudioTrackPlaybackParams) {
+                return new DefaultAudioSink.Builder(context)
+                        .setEnableFloatOutput(enableFloatOutput)
+                        .setEnableAudioTrackPlaybackParams(enableAudioTrackPlaybackParams)
+                        .setAudioProcessorChain(new SilenceTrimmingAudioProcessor.ProcessorChain(
+                                trimmer,
+                                normalizer,
+                                equalizer.newProcessor(),
+                                new TeeAudioProcessor(levelMeter)))
+                        .build();
+            }
+        };
+        
+        // Create ExoPlayer with optimized settings
+        // Player callbacks and commands stay on the dedicated player thread, off the UI thread
+        ExoPlayer built = new ExoPlayer.Builder(reactContext, renderersFactory)
+                .setLooper(playbackThread.getLooper())
+                .setLoadControl(loadControl)
+                .setLivePlaybackSpeedControl(liveSpeedControl)
+                .setTrackSelector(trackSelector)
+                .setBandwidthMeter(bandwidthMeter)
+                .setSeekBackIncrementMs(10000)
+                .setSeekForwardIncrementMs(10000)
+                .build();
+        
+        // The normalizer follows this player's items, standby or not, to pick up cached loudness.
+        // Both fire synchronously with the command that changes the playlist or seeks, before the
+        // playback thread reaches the new stream; a gapless start uses the next key published here.
+        built.addListener(new Player.Listener() {
+            @Override
+            public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+                publishStreamKeys(built, normalizer, true);
+            }
 
-                Log.i(TAG, "ExoPlayer initialized successfully");
-            } catch (Exception e) {
-                Log.e(TAG, "Failed to initialize ExoPlayer", e);
+            @Override
+            public void onTimelineChanged(Timeline timeline, int reason) {
+                publishStreamKeys(built, normalizer, false);
             }
         });
+        return built;
+    }
+
+    private void publishStreamKeys(Player player, LoudnessNormalizerAudioProcessor normalizer, boolean itemChanged) {
+        int nextIndex = player.getNextMediaItemIndex();
+        normalizer.setStreamKeys(
+                loudnessKey(player.getCurrentMediaItem()),
+                nextIndex != C.INDEX_UNSET ? loudnessKey(player.getMediaItemAt(nextIndex)) : null,
+                itemChanged);
+    }
+
+    /**
+     * Cache key under which the loudness of {@code mediaItem} is kept; only network streams
+     * have one, in-memory and real-time data are measured every time
+     */
+    @Nullable
+    private String loudnessKey(@Nullable MediaItem mediaItem) {
+        if (mediaItem == null || mediaItem.localConfiguration == null) {
+            return null;
+        }
+        if (mediaItem.localConfiguration.customCacheKey != null) {
+            return mediaItem.localConfiguration.customCacheKey;
+        }
+        Uri uri = mediaItem.localConfiguration.uri;
+        String scheme = uri.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            return null;
+        }
+        return cacheKeyFactory != null ? cacheKeyFactory.buildCacheKey(uri) : uri.toString();
+    }
+
+    /**
+     * Make the player available for a new item, creating it again if the idle timeout released it.
+     * Cancels a pending idle release; must run on the player thread.
+     */
+    private void ensurePlayer() {
+        playbackThread.removeCallbacks(idleReleaseRunnable);
+        if (player == null) {
+            createPlayer();
+        }
+    }
+
+    /**
+     * Release the player after it stayed unused for the idle timeout
+     */
+    private void scheduleIdleRelease() {
+        playbackThread.removeCallbacks(idleReleaseRunnable);
+        if (playerIdleTimeoutMs > 0) {
+            playbackThread.postDelayed(idleReleaseRunnable, playerIdleTimeoutMs);
+        } else {
+            releasePlayer();
+        }
+    }
+
+    /**
+     * Release the player with its decoder, AudioTrack and playback thread; must run on the player thread
+     */
+    private void releasePlayer() {
+        playbackThread.removeCallbacks(idleReleaseRunnable);
+        if (player != null) {
+            player.release();
+            player = null;
+            priorityController.attachPlayer(null);
+            progressEmitter.setPlayer(null);
+            playerState.update(null, volume);
+            sharedState.setPlayer(null);
+            statsSnapshot.clear();
+            statsSnapshot.publish();
+            Log.i(TAG, "ExoPlayer released");
+        }
     }
 
     @ReactMethod
     public void destroy(Promise promise) {
         try {
             cleanupAll();
+            playbackThread.post(() -> {
+                releasePlayer();
+                releaseStandbyPlayer();
+            });
+            scheduler.shutdown();
+            if (memoryCallbacksRegistered) {
+                reactContext.unregisterComponentCallbacks(memoryCallbacks);
+                memoryCallbacksRegistered = false;
+            }
             isInitialized = false;
             promise.resolve(true);
         } catch (Exception e) {
@@ -310,140 +636,63 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
         }
     }
 
+    @Override
+    public void invalidate() {
+        // React instance is going away: release the players on their thread, then stop it
+        playbackThread.post(() -> {
+            crossfader.finish();
+            releasePlayer();
+            releaseStandbyPlayer();
+        });
+        playbackThread.quit();
+        scheduler.shutdown();
+        super.invalidate();
+    }
+
     @ReactMethod
     public void startStream(String url, ReadableMap config, Promise promise) {
         try {
             currentUrl = url;
             this.config = config;
 
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 try {
-                    // Update configuration
-                    boolean useCache = config != null && config.hasKey("enableCache") && config.getBoolean("enableCache");
+                    // A single stream replaces the queue
+                    playbackQueue.clear();
+                    crossfader.finish();
                     
-                    // Check if it's a file path
-                    boolean isFilePath = url.startsWith("/") || url.startsWith("file://");
-                    
-                    // Determine if it's HLS/DASH
-                    boolean isHLS = url.endsWith(".m3u8") || url.contains("playlist.m3u8");
-                    boolean isDASH = url.endsWith(".mpd");
-                    boolean isSmoothStreaming = url.endsWith(".ism") || url.endsWith(".ism/Manifest");
-                    boolean isHTTP = url.startsWith("http://") || url.startsWith("https://");
+                    // Crossfading overlaps the new stream with the playing one on a second player
+                    long crossfadeMs = config != null && config.hasKey("crossfadeDuration")
+                            ? (long) config.getDouble("crossfadeDuration")
+                            : 0;
+                    boolean crossfade = crossfadeMs > 0 && player != null && player.isPlaying();
+                    if (crossfade && (standbyPlayer == null || !standbyPlayer.isPreparedFor(url))) {
+                        prepareStandbyPlayer(url, config);
+                    }
                     
-                    // Determine HTTP method
-                    String httpMethod = "GET";
-                    if (config != null && config.hasKey("method")) {
-                        httpMethod = config.getString("method");
+                    // A standby player already buffering this URL only needs to be swapped in
+                    if (promoteStandbyPlayer(url, config, crossfade ? crossfadeMs : 0)) {
+                        sendEvent("onStreamStart", Arguments.createMap());
+                        startProgressTimer();
+                        startStatsTimer();
+                        return;
                     }
                     
-                    MediaItem mediaItem;
+                    // Reuse the warm player, or create it again after an idle release
+                    ensurePlayer();
                     
-                    // Handle file paths FIRST
-                    if (isFilePath) {
-                        String filePath = url.startsWith("file://") ? url.substring(7) : url;
-                        File file = new File(filePath);
-                        
-                        if (!file.exists()) {
-                            promise.reject("FILE_NOT_FOUND", "File does not exist: " + filePath, (Throwable) null);
-                            return;
-                        }
-                        
-                        mediaItem = MediaItem.fromUri(Uri.fromFile(file));
-                        
-                        ProgressiveMediaSource mediaSource = new ProgressiveMediaSource.Factory(
-                            new FileDataSource.Factory()
-                        ).createMediaSource(mediaItem);
-                        
-                        player.setMediaSource(mediaSource);
-                    } else if (isHTTP && "POST".equals(httpMethod)) {
-                        // POST requests are not fully supported by ExoPlayer
-                        // Log warning and continue with normal flow
-                        Log.w(TAG, "POST requests with body are not fully supported in Android. Consider using playFromData() for TTS services.");
+                    // Update configuration
+                    if (loadControl != null) {
+                        loadControl.setProfile(BufferProfile.fromConfig(config));
                     }
                     
-                    // For GET requests or if POST has no body, use normal approach
-                    Map<String, String> headers = new HashMap<>();
-                    if (config != null && config.hasKey("headers")) {
-                        ReadableMap headersMap = config.getMap("headers");
-                        if (headersMap != null) {
-                            ReadableMapKeySetIterator iterator = headersMap.keySetIterator();
-                            while (iterator.hasNextKey()) {
-                                String key = iterator.nextKey();
-                                headers.put(key, headersMap.getString(key));
-                            }
-                        }
-                    }
+                    // Backoff/resume policy shared by every loader of this stream
+                    loadErrorPolicy = createLoadErrorPolicy(config);
+                    reconnectCount = 0;
+                    consecutiveReconnects = 0;
+                    silenceTrimming.configure(config, false);
                     
-                    if (!isFilePath) {
-                        if (isHLS) {
-                            mediaItem = new MediaItem.Builder()
-                                    .setUri(url)
-                                    .setMimeType(MimeTypes.APPLICATION_M3U8)
-                                    .setRequestMetadata(new MediaItem.RequestMetadata.Builder()
-                                            .setExtras(Bundle.EMPTY)
-                                            .build())
-                                    .build();
-                            
-                            // Configure HLS media source for better segment handling
-                            HlsMediaSource.Factory hlsFactory = new HlsMediaSource.Factory(
-                                    useCache ? dataSourceFactory : new DefaultHttpDataSource.Factory()
-                                            .setDefaultRequestProperties(headers)
-                                            .setConnectTimeoutMs(30000)  // 30 second connect timeout
-                                            .setReadTimeoutMs(30000)      // 30 second read timeout
-                                            .setAllowCrossProtocolRedirects(true)
-                            );
-                            
-                            // Configure for continuous playback without gaps
-                            hlsFactory.setAllowChunklessPreparation(true);
-                            
-                            HlsMediaSource hlsMediaSource = hlsFactory.createMediaSource(mediaItem);
-                            
-                            player.setMediaSource(hlsMediaSource);
-                        } else if (isDASH) {
-                            mediaItem = new MediaItem.Builder()
-                                    .setUri(url)
-                                    .setMimeType(MimeTypes.APPLICATION_MPD)
-                                    .build();
-                            
-                            DashMediaSource dashMediaSource = new DashMediaSource.Factory(
-                                    useCache ? dataSourceFactory : new DefaultHttpDataSource.Factory()
-                                            .setDefaultRequestProperties(headers)
-                            ).createMediaSource(mediaItem);
-                            
-                            player.setMediaSource(dashMediaSource);
-                        } else if (isSmoothStreaming) {
-                            mediaItem = new MediaItem.Builder()
-                                    .setUri(url)
-                                    .setMimeType(MimeTypes.APPLICATION_SS)
-                                    .build();
-                            
-                            SsMediaSource ssMediaSource = new SsMediaSource.Factory(
-                                    useCache ? dataSourceFactory : new DefaultHttpDataSource.Factory()
-                                            .setDefaultRequestProperties(headers)
-                            ).createMediaSource(mediaItem);
-                            
-                            player.setMediaSource(ssMediaSource);
-                        } else {
-                            // Regular HTTP/HTTPS stream
-                            mediaItem = new MediaItem.Builder()
-                                    .setUri(url)
-                                    .setRequestMetadata(new MediaItem.RequestMetadata.Builder()
-                                            .setExtras(Bundle.EMPTY)
-                                            .build())
-                                    .build();
-                            
-                            if (headers.size() > 0 || useCache) {
-                                ProgressiveMediaSource mediaSource = new ProgressiveMediaSource.Factory(
-                                        useCache ? dataSourceFactory : new DefaultHttpDataSource.Factory()
-                                                .setDefaultRequestProperties(headers)
-                                ).createMediaSource(mediaItem);
-                                
-                                player.setMediaSource(mediaSource);
-                            } else {
-                                player.setMediaItem(mediaItem);
-                            }
-                        }
-                    }
+                    player.setMediaSource(buildMediaSource(url, config, loadErrorPolicy));
                     
                     // Set autoPlay before prepare to fix initial playback issue
                     if (config != null && config.hasKey("autoPlay") && config.getBoolean("autoPlay")) {
@@ -456,18 +705,541 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                     
                     startProgressTimer();
                     startStatsTimer();
+                } catch (FileNotFoundException e) {
+                    promise.reject("FILE_NOT_FOUND", e.getMessage(), (Throwable) null);
                 } catch (Exception e) {
                     Log.e(TAG, "Failed to start stream", e);
                     promise.reject("START_ERROR", "Failed to start stream", e);
-                    return;
                 }
             });
 
             promise.resolve(true);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to start stream", e);
-            promise.reject("START_ERROR", "Failed to start stream", e);
-        }
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to start stream", e);
+            promise.reject("START_ERROR", "Failed to start stream", e);
+        }
+    }
+
+    /**
+     * Media source for a stream URL: local file, HLS, DASH, SmoothStreaming or progressive HTTP.
+     * Network sources go through the shared client, the cache and {@code loadErrorPolicy}.
+     */
+    private MediaSource buildMediaSource(String url,
+                                         @Nullable ReadableMap config,
+                                         StreamLoadErrorHandlingPolicy loadErrorPolicy) throws FileNotFoundException {
+        boolean useCache = config != null && config.hasKey("enableCache") && config.getBoolean("enableCache");
+        
+        // Check if it's a file path
+        boolean isFilePath = url.startsWith("/") || url.startsWith("file://");
+        
+        // Determine if it's HLS/DASH
+        boolean isHLS = url.endsWith(".m3u8") || url.contains("playlist.m3u8");
+        boolean isDASH = url.endsWith(".mpd");
+        boolean isSmoothStreaming = url.endsWith(".ism") || url.endsWith(".ism/Manifest");
+        boolean isHTTP = url.startsWith("http://") || url.startsWith("https://");
+        
+        // Handle file paths FIRST
+        if (isFilePath) {
+            String filePath = url.startsWith("file://") ? url.substring(7) : url;
+            File file = new File(filePath);
+            
+            if (!file.exists()) {
+                throw new FileNotFoundException("File does not exist: " + filePath);
+            }
+            
+            return new ProgressiveMediaSource.Factory(new FileDataSource.Factory())
+                    .createMediaSource(MediaItem.fromUri(Uri.fromFile(file)));
+        }
+        
+        // Determine HTTP method
+        String httpMethod = "GET";
+        if (config != null && config.hasKey("method")) {
+            httpMethod = config.getString("method");
+        }
+        if (isHTTP && "POST".equals(httpMethod)) {
+            // POST requests are not fully supported by ExoPlayer
+            // Log warning and continue with normal flow
+            Log.w(TAG, "POST requests with body are not fully supported in Android. Consider using playFromData() for TTS services.");
+        }
+        
+        // For GET requests or if POST has no body, use normal approach
+        Map<String, String> headers = new HashMap<>();
+        if (config != null && config.hasKey("headers")) {
+            ReadableMap headersMap = config.getMap("headers");
+            if (headersMap != null) {
+                ReadableMapKeySetIterator iterator = headersMap.keySetIterator();
+                while (iterator.hasNextKey()) {
+                    String key = iterator.nextKey();
+                    headers.put(key, headersMap.getString(key));
+                }
+            }
+        }
+        
+        // Segment-level caching applies to every protocol
+        if (useCache && !cacheManager.isInitialized()) {
+            setupCache(config);
+        }
+        String cachePartition = config != null && config.hasKey("cachePartition")
+                ? config.getString("cachePartition")
+                : null;
+        DataSource.Factory networkDataSourceFactory =
+                createNetworkDataSourceFactory(headers, useCache, cachePartition, 1);
+        
+        MediaItem mediaItem;
+        if (isHLS) {
+            mediaItem = new MediaItem.Builder()
+                    .setUri(url)
+                    .setMimeType(MimeTypes.APPLICATION_M3U8)
+                    .setRequestMetadata(new MediaItem.RequestMetadata.Builder()
+                            .setExtras(Bundle.EMPTY)
+                            .build())
+                    .setLiveConfiguration(createLiveConfiguration(config))
+                    .build();
+            
+            // Configure HLS media source for better segment handling
+            HlsMediaSource.Factory hlsFactory = new HlsMediaSource.Factory(networkDataSourceFactory);
+            
+            // Configure for continuous playback without gaps. LL-HLS partial segments and
+            // blocking playlist reloads are used whenever the playlist advertises them.
+            hlsFactory.setAllowChunklessPreparation(true);
+            hlsFactory.setLoadErrorHandlingPolicy(loadErrorPolicy);
+            
+            return hlsFactory.createMediaSource(mediaItem);
+        } else if (isDASH) {
+            mediaItem = new MediaItem.Builder()
+                    .setUri(url)
+                    .setMimeType(MimeTypes.APPLICATION_MPD)
+                    .setLiveConfiguration(createLiveConfiguration(config))
+                    .build();
+            
+            return new DashMediaSource.Factory(networkDataSourceFactory)
+                    .setLoadErrorHandlingPolicy(loadErrorPolicy)
+                    .createMediaSource(mediaItem);
+        } else if (isSmoothStreaming) {
+            mediaItem = new MediaItem.Builder()
+                    .setUri(url)
+                    .setMimeType(MimeTypes.APPLICATION_SS)
+                    .build();
+            
+            return new SsMediaSource.Factory(networkDataSourceFactory)
+                    .setLoadErrorHandlingPolicy(loadErrorPolicy)
+                    .createMediaSource(mediaItem);
+        }
+        
+        // Regular HTTP/HTTPS stream
+        mediaItem = new MediaItem.Builder()
+                .setUri(url)
+                .setRequestMetadata(new MediaItem.RequestMetadata.Builder()
+                        .setExtras(Bundle.EMPTY)
+                        .build())
+                .build();
+        
+        // Progressive files may opt in to parallel range downloads
+        int parallelConnections = config != null && config.hasKey("parallelConnections")
+                ? config.getInt("parallelConnections")
+                : 1;
+        if (parallelConnections > ParallelRangeDataSource.MAX_CONNECTIONS) {
+            Log.w(TAG, "parallelConnections " + parallelConnections + " capped at "
+                    + ParallelRangeDataSource.MAX_CONNECTIONS);
+            parallelConnections = ParallelRangeDataSource.MAX_CONNECTIONS;
+        }
+        DataSource.Factory progressiveDataSourceFactory = parallelConnections > 1
+                ? createNetworkDataSourceFactory(headers, useCache, cachePartition, parallelConnections)
+                : networkDataSourceFactory;
+        
+        return new ProgressiveMediaSource.Factory(progressiveDataSourceFactory)
+                .setLoadErrorHandlingPolicy(loadErrorPolicy)
+                .createMediaSource(mediaItem);
+    }
+
+    /**
+     * Live offset targeting for HLS/DASH live streams. With `liveMode` the player aims for
+     * `liveTargetOffset` (default 3s) behind the live edge and catches up by playing up to
+     * `liveMaxPlaybackSpeed` (default 1.05x), jumping to the live edge beyond `liveMaxOffset`
+     * (default 10s); without it only explicitly set values are used
+     * and the rest comes from the stream.
+     */
+    private MediaItem.LiveConfiguration createLiveConfiguration(@Nullable ReadableMap config) {
+        MediaItem.LiveConfiguration.Builder builder = new MediaItem.LiveConfiguration.Builder();
+        if (config == null) {
+            return builder.build();
+        }
+        
+        boolean liveMode = config.hasKey("liveMode") && config.getBoolean("liveMode");
+        if (liveMode) {
+            builder.setTargetOffsetMs(DEFAULT_LIVE_TARGET_OFFSET_MS)
+                    .setMaxOffsetMs(DEFAULT_LIVE_MAX_OFFSET_MS)
+                    .setMinPlaybackSpeed(0.97f)
+                    .setMaxPlaybackSpeed(1.05f);
+        }
+        if (config.hasKey("liveTargetOffset")) {
+            builder.setTargetOffsetMs((long) config.getDouble("liveTargetOffset"));
+        }
+        if (config.hasKey("liveMinOffset")) {
+            builder.setMinOffsetMs((long) config.getDouble("liveMinOffset"));
+        }
+        if (config.hasKey("liveMaxOffset")) {
+            builder.setMaxOffsetMs((long) config.getDouble("liveMaxOffset"));
+        }
+        if (config.hasKey("liveMinPlaybackSpeed")) {
+            builder.setMinPlaybackSpeed((float) config.getDouble("liveMinPlaybackSpeed"));
+        }
+        if (config.hasKey("liveMaxPlaybackSpeed")) {
+            builder.setMaxPlaybackSpeed((float) config.getDouble("liveMaxPlaybackSpeed"));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Jump back to the live edge when a live stream fell further behind than its maximum
+     * offset (e.g. after a long rebuffer), instead of slowly catching up by speed
+     */
+    private void maybeSeekToLiveEdge() {
+        if (player == null || !player.isCurrentMediaItemLive() || player.getCurrentMediaItem() == null) {
+            return;
+        }
+        long maxOffset = player.getCurrentMediaItem().liveConfiguration.maxOffsetMs;
+        long offset = player.getCurrentLiveOffset();
+        if (maxOffset != C.TIME_UNSET && offset != C.TIME_UNSET && offset > maxOffset) {
+            Log.i(TAG, "Live offset " + offset + "ms exceeds " + maxOffset + "ms, seeking to live edge");
+            player.seekToDefaultPosition();
+        }
+    }
+
+    /**
+     * Swap in the standby player if it is buffering {@code url}. The previous player is
+     * emptied and becomes the standby for the next prediction; with {@code crossfadeMs}
+     * it first fades out under the new one. Must run on the player thread.
+     */
+    private boolean promoteStandbyPlayer(String url, @Nullable ReadableMap config, long crossfadeMs) {
+        if (standbyPlayer == null || !standbyPlayer.isPreparedFor(url)) {
+            return false;
+        }
+        
+        StandbyPlayer promoted = standbyPlayer;
+        ExoPlayer previous = player;
+        SwitchableLoadControl previousLoadControl = loadControl;
+        
+        playbackThread.removeCallbacks(idleReleaseRunnable);
+        player = promoted.player;
+        loadControl = promoted.loadControl;
+        loadErrorPolicy = promoted.getLoadErrorPolicy();
+        reconnectCount = 0;
+        consecutiveReconnects = 0;
+        
+        // Recycle the old player as the next standby, or drop the slot if it was released
+        standbyPlayer = null;
+        if (previous != null) {
+            previous.removeListener(playerListener);
+            player.setPlaybackParameters(previous.getPlaybackParameters());
+            StandbyPlayer recycled = new StandbyPlayer(previous, previousLoadControl, standbyProfile());
+            if (crossfadeMs > 0) {
+                crossfader.start(previous, player, crossfadeMs,
+                        Crossfader.Curve.fromName(config != null && config.hasKey("crossfadeCurve") ? config.getString("crossfadeCurve") : null),
+                        volume,
+                        () -> recycleStandbyPlayer(recycled));
+            } else {
+                recycleStandbyPlayer(recycled);
+            }
+        }
+        
+        loadControl.setProfile(BufferProfile.fromConfig(config));
+        player.addListener(playerListener);
+        priorityController.attachPlayer(player);
+        progressEmitter.setPlayer(player);
+        playerState.update(player, volume);
+        sharedState.setPlayer(player);
+        if (!crossfader.isActive()) {
+            player.setVolume(volume);
+        }
+        if (config != null && config.hasKey("autoPlay") && config.getBoolean("autoPlay")) {
+            player.setPlayWhenReady(true);
+        }
+        
+        // No state change fires for an already buffered player; report its current state
+        updateState(PlaybackState.LOADING);
+        handlePlaybackStateChange(player.getPlaybackState());
+        Log.i(TAG, "Promoted standby player for " + url);
+        return true;
+    }
+
+    /**
+     * Empty a replaced player and keep it as the standby slot, unless another standby took it
+     */
+    private void recycleStandbyPlayer(StandbyPlayer recycled) {
+        if (standbyPlayer == null) {
+            recycled.reset();
+            standbyPlayer = recycled;
+        } else {
+            recycled.release();
+        }
+    }
+
+    /**
+     * Start buffering {@code url} on the standby player, creating it if needed. Must run on the player thread.
+     */
+    private void prepareStandbyPlayer(String url, @Nullable ReadableMap config) throws FileNotFoundException {
+        if (standbyPlayer == null) {
+            int segmentSize = config != null && config.hasKey("bufferSize") ? config.getInt("bufferSize") * 1024 : 0;
+            BufferProfile profile = standbyProfile();
+            SwitchableLoadControl standbyLoadControl = new SwitchableLoadControl(profile, segmentSize);
+            standbyPlayer = new StandbyPlayer(buildPlayer(standbyLoadControl), standbyLoadControl, profile);
+        }
+        
+        StreamLoadErrorHandlingPolicy policy = createLoadErrorPolicy(config);
+        standbyPlayer.prepare(url, buildMediaSource(url, config, policy), policy);
+    }
+
+    private BufferProfile standbyProfile() {
+        int maxKb = config != null && config.hasKey("standbyBufferSize") ? config.getInt("standbyBufferSize") : 512;
+        return BufferProfile.standby(maxKb * 1024);
+    }
+
+    /**
+     * Drop the standby player entirely, e.g. under memory pressure. Must run on the player thread.
+     */
+    private void releaseStandbyPlayer() {
+        if (standbyPlayer != null) {
+            standbyPlayer.release();
+            standbyPlayer = null;
+            Log.i(TAG, "Standby player released");
+        }
+    }
+
+    @ReactMethod
+    public void prepareNextStream(String url, ReadableMap config, Promise promise) {
+        playbackThread.post(() -> {
+            try {
+                prepareStandbyPlayer(url, config);
+                promise.resolve(true);
+            } catch (FileNotFoundException e) {
+                promise.reject("FILE_NOT_FOUND", e.getMessage(), (Throwable) null);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to prepare next stream", e);
+                promise.reject("PREPARE_ERROR", "Failed to prepare next stream", e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void clearNextStream(Promise promise) {
+        playbackThread.post(() -> {
+            releaseStandbyPlayer();
+            promise.resolve(true);
+        });
+    }
+
+    /**
+     * Build queue items and their media sources from JS `{ url, id?, ...config }` maps.
+     * Each item carries its own headers, cache settings and retry policy.
+     */
+    private void buildQueueItems(ReadableArray itemArray,
+                                 List<PlaybackQueue.Item> items,
+                                 List<MediaSource> sources) throws FileNotFoundException {
+        for (int i = 0; i < itemArray.size(); i++) {
+            ReadableMap itemConfig = itemArray.getMap(i);
+            if (itemConfig == null || !itemConfig.hasKey("url")) {
+                throw new IllegalArgumentException("Queue item " + i + " has no url");
+            }
+            String url = itemConfig.getString("url");
+            String id = itemConfig.hasKey("id") && !itemConfig.isNull("id")
+                    ? itemConfig.getString("id")
+                    : playbackQueue.generateId();
+            StreamLoadErrorHandlingPolicy policy = createLoadErrorPolicy(itemConfig);
+            items.add(new PlaybackQueue.Item(id, url, policy));
+            sources.add(buildMediaSource(url, itemConfig, policy));
+        }
+    }
+
+    /**
+     * Point the per-stream state (URL, retry policy, reconnect budget) at a queue item
+     */
+    private void applyQueueItem(@Nullable PlaybackQueue.Item item) {
+        if (item == null) {
+            return;
+        }
+        currentUrl = item.url;
+        loadErrorPolicy = item.loadErrorPolicy;
+        reconnectCount = 0;
+        consecutiveReconnects = 0;
+    }
+
+    private void handleQueueTransition() {
+        int index = player.getCurrentMediaItemIndex();
+        applyQueueItem(playbackQueue.get(index));
+        sendQueueChange("transition");
+        
+        // The player buffers the next item itself; also have its connection ready
+        PlaybackQueue.Item next = playbackQueue.get(index + 1);
+        if (next != null && (next.url.startsWith("http://") || next.url.startsWith("https://"))) {
+            connectionWarmer.warmUp(Collections.singletonList(next.url), 0, results -> { });
+        }
+    }
+
+    private void sendQueueChange(String reason) {
+        WritableMap params = playbackQueue.toWritableMap(player);
+        params.putString("reason", reason);
+        sendEvent("onQueueChange", params);
+    }
+
+    @ReactMethod
+    public void setQueue(ReadableArray items, double startIndex, ReadableMap config, Promise promise) {
+        playbackThread.post(() -> {
+            try {
+                List<PlaybackQueue.Item> queueItems = new ArrayList<>();
+                List<MediaSource> sources = new ArrayList<>();
+                buildQueueItems(items, queueItems, sources);
+                if (queueItems.isEmpty()) {
+                    promise.reject("QUEUE_ERROR", "Queue is empty", (Throwable) null);
+                    return;
+                }
+                
+                this.config = config;
+                if (config != null && config.hasKey("crossfadeDuration")) {
+                    // Queue items share one player, so there is no second player to overlap with
+                    Log.w(TAG, "crossfadeDuration is ignored for queues, transitions stay gapless");
+                }
+                ensurePlayer();
+                if (loadControl != null) {
+                    loadControl.setProfile(BufferProfile.fromConfig(config));
+                }
+                silenceTrimming.configure(config, false);
+                
+                playbackQueue.set(player, queueItems, sources, (int) startIndex);
+                applyQueueItem(playbackQueue.get(player.getCurrentMediaItemIndex()));
+                
+                if (config != null && config.hasKey("autoPlay") && config.getBoolean("autoPlay")) {
+                    player.setPlayWhenReady(true);
+                }
+                player.prepare();
+                updateState(PlaybackState.LOADING);
+                sendEvent("onStreamStart", Arguments.createMap());
+                sendQueueChange("set");
+                
+                startProgressTimer();
+                startStatsTimer();
+                promise.resolve(true);
+            } catch (FileNotFoundException e) {
+                promise.reject("FILE_NOT_FOUND", e.getMessage(), (Throwable) null);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to set queue", e);
+                promise.reject("QUEUE_ERROR", "Failed to set queue", e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void addToQueue(ReadableArray items, double index, Promise promise) {
+        playbackThread.post(() -> {
+            try {
+                List<PlaybackQueue.Item> queueItems = new ArrayList<>();
+                List<MediaSource> sources = new ArrayList<>();
+                buildQueueItems(items, queueItems, sources);
+                
+                ensurePlayer();
+                boolean wasEmpty = player.getMediaItemCount() == 0;
+                if (playbackQueue.isEmpty() && player.getMediaItemCount() == 1 && currentUrl != null) {
+                    // Continue from a stream started with startStream
+                    playbackQueue.adopt(new PlaybackQueue.Item(playbackQueue.generateId(), currentUrl, loadErrorPolicy));
+                } else if (playbackQueue.isEmpty() && !wasEmpty) {
+                    promise.reject("QUEUE_ERROR", "Current playback cannot be queued", (Throwable) null);
+                    return;
+                }
+                
+                playbackQueue.add(player, (int) index, queueItems, sources);
+                if (wasEmpty) {
+                    applyQueueItem(playbackQueue.get(0));
+                    player.prepare();
+                }
+                sendQueueChange("add");
+                
+                WritableArray ids = Arguments.createArray();
+                for (PlaybackQueue.Item item : queueItems) {
+                    ids.pushString(item.id);
+                }
+                promise.resolve(ids);
+            } catch (FileNotFoundException e) {
+                promise.reject("FILE_NOT_FOUND", e.getMessage(), (Throwable) null);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to add to queue", e);
+                promise.reject("QUEUE_ERROR", "Failed to add to queue", e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void removeFromQueue(String id, Promise promise) {
+        playbackThread.post(() -> {
+            if (player == null || !playbackQueue.remove(player, id)) {
+                promise.reject("QUEUE_ITEM_NOT_FOUND", "No queue item with id " + id, (Throwable) null);
+                return;
+            }
+            sendQueueChange("remove");
+            promise.resolve(true);
+        });
+    }
+
+    @ReactMethod
+    public void moveQueueItem(String id, double toIndex, Promise promise) {
+        playbackThread.post(() -> {
+            if (player == null || !playbackQueue.move(player, id, (int) toIndex)) {
+                promise.reject("QUEUE_ITEM_NOT_FOUND", "No queue item with id " + id, (Throwable) null);
+                return;
+            }
+            sendQueueChange("move");
+            promise.resolve(true);
+        });
+    }
+
+    @ReactMethod
+    public void skipToQueueItem(String id, Promise promise) {
+        playbackThread.post(() -> {
+            if (player == null || !playbackQueue.skipTo(player, id)) {
+                promise.reject("QUEUE_ITEM_NOT_FOUND", "No queue item with id " + id, (Throwable) null);
+                return;
+            }
+            promise.resolve(true);
+        });
+    }
+
+    @ReactMethod
+    public void skipToNext(Promise promise) {
+        playbackThread.post(() -> {
+            if (player == null || !player.hasNextMediaItem()) {
+                promise.resolve(false);
+                return;
+            }
+            player.seekToNextMediaItem();
+            promise.resolve(true);
+        });
+    }
+
+    @ReactMethod
+    public void skipToPrevious(Promise promise) {
+        playbackThread.post(() -> {
+            if (player == null || !player.hasPreviousMediaItem()) {
+                promise.resolve(false);
+                return;
+            }
+            player.seekToPreviousMediaItem();
+            promise.resolve(true);
+        });
+    }
+
+    @ReactMethod
+    public void clearQueue(Promise promise) {
+        playbackThread.post(() -> {
+            if (player != null && !playbackQueue.isEmpty()) {
+                playbackQueue.clearUpcoming(player);
+                sendQueueChange("clear");
+            }
+            promise.resolve(true);
+        });
+    }
+
+    @ReactMethod
+    public void getQueue(Promise promise) {
+        playbackThread.post(() -> promise.resolve(playbackQueue.toWritableMap(player)));
     }
 
     @ReactMethod
@@ -485,7 +1257,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void play(Promise promise) {
         try {
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 if (player != null) {
                     player.play();
                     updateState(PlaybackState.PLAYING);
@@ -501,7 +1273,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void pause(Promise promise) {
         try {
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 if (player != null) {
                     player.pause();
                     updateState(PlaybackState.PAUSED);
@@ -517,10 +1289,11 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void stop(Promise promise) {
         try {
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 if (player != null) {
                     player.stop();
                     player.clearMediaItems();
+                    scheduleIdleRelease();
                     updateState(PlaybackState.STOPPED);
                 }
             });
@@ -534,7 +1307,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void seek(double position, Promise promise) {
         try {
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 if (player != null) {
                     player.seekTo((long) (position * 1000));
                 }
@@ -547,12 +1320,16 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     }
 
     @ReactMethod
-    public void setVolume(float volume, Promise promise) {
+    public void setVolume(double volume, Promise promise) {
         try {
-            mainHandler.post(() -> {
-                if (player != null) {
-                    player.setVolume(volume);
+            playbackThread.post(() -> {
+                this.volume = (float) volume;
+                if (crossfader.isActive()) {
+                    crossfader.setTargetVolume(this.volume);
+                } else if (player != null) {
+                    player.setVolume(this.volume);
                 }
+                playerState.update(player, this.volume);
             });
             promise.resolve(true);
         } catch (Exception e) {
@@ -563,21 +1340,23 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void getVolume(Promise promise) {
-        try {
-            float volume = player != null ? player.getVolume() : 1.0f;
-            promise.resolve(volume);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to get volume", e);
-            promise.reject("VOLUME_ERROR", "Failed to get volume", e);
-        }
+        runOnPlayerThread(() -> {
+            try {
+                float volume = player != null ? player.getVolume() : 1.0f;
+                promise.resolve(volume);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get volume", e);
+                promise.reject("VOLUME_ERROR", "Failed to get volume", e);
+            }
+        });
     }
 
     @ReactMethod
-    public void setPlaybackRate(float rate, Promise promise) {
+    public void setPlaybackRate(double rate, Promise promise) {
         try {
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 if (player != null) {
-                    player.setPlaybackSpeed(rate);
+                    player.setPlaybackSpeed((float) rate);
                 }
             });
             promise.resolve(true);
@@ -589,13 +1368,15 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void getPlaybackRate(Promise promise) {
-        try {
-            float rate = player != null ? player.getPlaybackParameters().speed : 1.0f;
-            promise.resolve(rate);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to get playback rate", e);
-            promise.reject("RATE_ERROR", "Failed to get playback rate", e);
-        }
+        runOnPlayerThread(() -> {
+            try {
+                float rate = player != null ? player.getPlaybackParameters().speed : 1.0f;
+                promise.resolve(rate);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get playback rate", e);
+                promise.reject("RATE_ERROR", "Failed to get playback rate", e);
+            }
+        });
     }
 
     @ReactMethod
@@ -603,179 +1384,313 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
         promise.resolve(currentState.toString());
     }
 
-    @ReactMethod
-    public void getCurrentTime(Promise promise) {
+    // Synchronous getters: read the player state snapshot on the calling (JS) thread
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public String getStateSync() {
+        return currentState.toString();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getCurrentTimeSync() {
+        return playerState.getCurrentTime();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getDurationSync() {
+        return playerState.getDuration();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getVolumeSync() {
+        return playerState.getVolume();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getPlaybackRateSync() {
+        return playerState.getPlaybackRate();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getBufferedPercentageSync() {
+        return playerState.getBufferedPercentage();
+    }
+
+    /**
+     * Install the shared playback state ArrayBuffer into the JS runtime; runs on the JS thread
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean installSharedState() {
         try {
-            double currentTime = 0;
-            if (player != null) {
-                currentTime = player.getCurrentPosition() / 1000.0;
-            }
-            promise.resolve(currentTime);
+            return sharedState.install(reactContext.getJavaScriptContextHolder().get());
         } catch (Exception e) {
-            Log.e(TAG, "Failed to get current time", e);
-            promise.reject("TIME_ERROR", "Failed to get current time", e);
+            Log.e(TAG, "Failed to install shared playback state", e);
+            return false;
         }
     }
 
+    @ReactMethod
+    public void getCurrentTime(Promise promise) {
+        runOnPlayerThread(() -> {
+            try {
+                double currentTime = 0;
+                if (player != null) {
+                    currentTime = player.getCurrentPosition() / 1000.0;
+                }
+                promise.resolve(currentTime);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get current time", e);
+                promise.reject("TIME_ERROR", "Failed to get current time", e);
+            }
+        });
+    }
+
     @ReactMethod
     public void getDuration(Promise promise) {
-        try {
-            double duration = 0;
-            if (player != null && player.getDuration() != C.TIME_UNSET) {
-                duration = player.getDuration() / 1000.0;
+        runOnPlayerThread(() -> {
+            try {
+                double duration = 0;
+                if (player != null && player.getDuration() != C.TIME_UNSET) {
+                    duration = player.getDuration() / 1000.0;
+                }
+                promise.resolve(duration);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get duration", e);
+                promise.reject("DURATION_ERROR", "Failed to get duration", e);
             }
-            promise.resolve(duration);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to get duration", e);
-            promise.reject("DURATION_ERROR", "Failed to get duration", e);
-        }
+        });
     }
 
     @ReactMethod
     public void getBufferedPercentage(Promise promise) {
-        try {
-            int percentage = 0;
-            if (player != null) {
-                long bufferedPosition = player.getBufferedPosition();
-                long duration = player.getDuration();
+        runOnPlayerThread(() -> {
+            try {
+                int percentage = 0;
+                if (player != null) {
+                    long bufferedPosition = player.getBufferedPosition();
+                    long duration = player.getDuration();
                 
-                if (duration != C.TIME_UNSET && duration > 0) {
-                    // Known duration - calculate percentage normally
-                    percentage = (int) ((bufferedPosition * 100) / duration);
-                } else {
-                    // Live stream or unknown duration - use buffer size relative to current position
-                    long currentPosition = player.getCurrentPosition();
-                    if (bufferedPosition > currentPosition) {
-                        // Show buffer ahead as percentage (max 100%)
-                        long bufferAhead = bufferedPosition - currentPosition;
-                        // Consider 30 seconds of buffer as 100%
-                        percentage = Math.min(100, (int) ((bufferAhead * 100) / 30000));
+                    if (duration != C.TIME_UNSET && duration > 0) {
+                        // Known duration - calculate percentage normally
+                        percentage = (int) ((bufferedPosition * 100) / duration);
+                    } else {
+                        // Live stream or unknown duration - use buffer size relative to current position
+                        long currentPosition = player.getCurrentPosition();
+                        if (bufferedPosition > currentPosition) {
+                            // Show buffer ahead as percentage (max 100%)
+                            long bufferAhead = bufferedPosition - currentPosition;
+                            // Consider 30 seconds of buffer as 100%
+                            percentage = Math.min(100, (int) ((bufferAhead * 100) / 30000));
+                        }
                     }
                 }
+                promise.resolve(percentage);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get buffered percentage", e);
+                promise.reject("BUFFER_ERROR", "Failed to get buffered percentage", e);
             }
-            promise.resolve(percentage);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to get buffered percentage", e);
-            promise.reject("BUFFER_ERROR", "Failed to get buffered percentage", e);
-        }
+        });
     }
 
     @ReactMethod
     public void getStats(Promise promise) {
-        try {
-            WritableMap stats = Arguments.createMap();
+        runOnPlayerThread(() -> {
+            try {
+                updatePlayerStats();
+                sampleStats();
+                promise.resolve(statsSnapshot.toWritableMap());
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get stats", e);
+                promise.reject("STATS_ERROR", "Failed to get stats", e);
+            }
+        });
+    }
+
+    /**
+     * Latest stats as of the last stats tick or state change, without a hop to the player thread
+     */
+    @ReactMethod
+    public void getStatsSnapshot(Promise promise) {
+        promise.resolve(statsSnapshot.toWritableMap());
+    }
+
+    /**
+     * Stats that only change with player state; called from the player listener as it changes
+     */
+    private void updatePlayerStats() {
+        if (player == null) {
+            return;
+        }
+        int playbackState = player.getPlaybackState();
+        long duration = player.getDuration();
+        
+        // Buffer health
+        int bufferHealth;
+        if (playbackState == Player.STATE_BUFFERING) {
+            bufferHealth = 0;
+        } else if (player.getPlayWhenReady() && playbackState == Player.STATE_READY) {
+            bufferHealth = 100;
+        } else {
+            bufferHealth = 50;
+        }
+        
+        statsSnapshot.putDouble("totalDuration", duration != C.TIME_UNSET ? duration / 1000.0 : 0);
+        statsSnapshot.putDouble("bufferHealth", bufferHealth);
+        statsSnapshot.putDouble("droppedFrames", 0); // Not applicable for audio
+        statsSnapshot.putBoolean("isBuffering", playbackState == Player.STATE_BUFFERING);
+        statsSnapshot.putBoolean("playWhenReady", player.getPlayWhenReady());
+        
+        boolean isLive = player.isCurrentMediaItemLive();
+        statsSnapshot.putBoolean("isLive", isLive);
+        MediaItem currentItem = player.getCurrentMediaItem();
+        if (isLive && currentItem != null && currentItem.liveConfiguration.targetOffsetMs != C.TIME_UNSET) {
+            statsSnapshot.putDouble("liveTargetOffset", currentItem.liveConfiguration.targetOffsetMs / 1000.0);
+        } else {
+            statsSnapshot.remove("liveTargetOffset");
+        }
+        if (loadControl != null) {
+            statsSnapshot.putString("bufferProfile", loadControl.getProfile().name);
+        }
+        
+        // Retry/reconnect activity for the current stream
+        int loadRetries = loadErrorPolicy != null ? loadErrorPolicy.getRetryCount() : 0;
+        statsSnapshot.putInt("retryCount", loadRetries + reconnectCount);
+        statsSnapshot.putInt("reconnectCount", reconnectCount);
+        statsSnapshot.putDouble("lastRetryDelay", loadErrorPolicy != null ? loadErrorPolicy.getLastRetryDelayMs() : 0);
+        statsSnapshot.publish();
+    }
+
+    /**
+     * Stats that move continuously (positions, network, threads); sampled at each stats tick
+     */
+    private void sampleStats() {
+        playerState.update(player, volume);
+        if (player != null) {
+            long bufferedPosition = player.getBufferedPosition();
+            long currentPosition = player.getCurrentPosition();
+            long duration = player.getDuration();
             
-            if (player != null) {
-                // Buffered duration
-                long bufferedPosition = player.getBufferedPosition();
-                long currentPosition = player.getCurrentPosition();
-                double bufferedDuration = (bufferedPosition - currentPosition) / 1000.0;
-                
-                // Current and total duration
-                double playedDuration = currentPosition / 1000.0;
-                double totalDuration = player.getDuration() != C.TIME_UNSET ? player.getDuration() / 1000.0 : 0;
-                
-                // Network speed
-                long elapsedTime = System.currentTimeMillis() - bufferStartTime;
-                double networkSpeed = elapsedTime > 0 ? (totalBytesReceived / elapsedTime) : 0; // KB/s
-                
-                // Buffer health
-                int bufferHealth = 100;
-                if (player.getPlaybackState() == Player.STATE_BUFFERING) {
-                    bufferHealth = 0;
-                } else if (player.getPlayWhenReady() && player.getPlaybackState() == Player.STATE_READY) {
-                    bufferHealth = 100;
-                } else {
-                    bufferHealth = 50;
-                }
-                
-                stats.putDouble("bufferedDuration", bufferedDuration);
-                stats.putDouble("playedDuration", playedDuration);
-                stats.putDouble("totalDuration", totalDuration);
-                stats.putDouble("networkSpeed", networkSpeed);
-                stats.putDouble("latency", 0); // Would need ping implementation
-                stats.putDouble("bufferHealth", bufferHealth);
-                stats.putDouble("droppedFrames", 0); // Not applicable for audio
-                stats.putDouble("bitRate", bandwidthMeter.getBitrateEstimate() / 1000); // Convert to kbps
-                
-                // Additional buffer information
-                stats.putDouble("bufferedPosition", player.getBufferedPosition() / 1000.0);
-                stats.putDouble("currentPosition", currentPosition / 1000.0);
-                
-                // Calculate buffered percentage
-                int bufferedPercentage = 0;
-                if (totalDuration > 0) {
-                    // Known duration
-                    bufferedPercentage = (int) ((player.getBufferedPosition() * 100) / player.getDuration());
-                } else {
-                    // Live stream - use buffer ahead
-                    long bufferAhead = bufferedPosition - currentPosition;
-                    if (bufferAhead > 0) {
-                        // Consider 30 seconds as 100%
-                        bufferedPercentage = Math.min(100, (int) ((bufferAhead * 100) / 30000));
-                    }
+            // Calculate buffered percentage
+            int bufferedPercentage = 0;
+            if (duration != C.TIME_UNSET && duration > 0) {
+                // Known duration
+                bufferedPercentage = (int) ((bufferedPosition * 100) / duration);
+            } else {
+                // Live stream - use buffer ahead
+                long bufferAhead = bufferedPosition - currentPosition;
+                if (bufferAhead > 0) {
+                    // Consider 30 seconds as 100%
+                    bufferedPercentage = Math.min(100, (int) ((bufferAhead * 100) / 30000));
                 }
-                
-                stats.putInt("bufferedPercentage", bufferedPercentage);
-                stats.putBoolean("isBuffering", player.getPlaybackState() == Player.STATE_BUFFERING);
-                stats.putBoolean("playWhenReady", player.getPlayWhenReady());
             }
             
-            promise.resolve(stats);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to get stats", e);
-            promise.reject("STATS_ERROR", "Failed to get stats", e);
+            statsSnapshot.putDouble("bufferedDuration", (bufferedPosition - currentPosition) / 1000.0);
+            statsSnapshot.putDouble("playedDuration", currentPosition / 1000.0);
+            statsSnapshot.putDouble("bufferedPosition", bufferedPosition / 1000.0);
+            statsSnapshot.putDouble("currentPosition", currentPosition / 1000.0);
+            statsSnapshot.putInt("bufferedPercentage", bufferedPercentage);
+            
+            // Network speed (rolling throughput of active transfers)
+            statsSnapshot.putDouble("networkSpeed", NetworkMetrics.getInstance().getThroughput() / 1024); // KB/s
+            statsSnapshot.putDouble("latency", NetworkMetrics.getInstance().getLatency()); // Median request-to-response ms
+            statsSnapshot.putDouble("bitRate", bandwidthMeter.getBitrateEstimate() / 1000); // Convert to kbps
+            
+            // Live latency: distance behind the live edge and the catch-up speed
+            if (player.isCurrentMediaItemLive()) {
+                long liveOffset = player.getCurrentLiveOffset();
+                statsSnapshot.putDouble("liveOffset", liveOffset != C.TIME_UNSET ? liveOffset / 1000.0 : 0);
+                statsSnapshot.putDouble("livePlaybackSpeed", player.getPlaybackParameters().speed);
+            } else {
+                statsSnapshot.remove("liveOffset");
+                statsSnapshot.remove("livePlaybackSpeed");
+            }
         }
+        
+        // Warm (pooled/pre-warmed) vs cold connection acquisition and per-phase timings
+        NetworkMetrics.getInstance().writeTo(statsSnapshot);
+        statsSnapshot.putMap("network", NetworkMetrics.getInstance().toMap());
+        crossfader.writeTo(statsSnapshot);
+        playbackThread.writeTo(statsSnapshot);
+        progressEmitter.writeTo(statsSnapshot);
+        eventBatcher.writeTo(statsSnapshot);
+        equalizer.writeTo(statsSnapshot);
+        silenceTrimming.writeTo(statsSnapshot);
+        loudness.writeTo(statsSnapshot);
+        Map<String, Object> threads = scheduler.toMap();
+        // Module player thread plus the internal playback thread of each live player
+        threads.put("playerThreads", 1 + (player != null ? 1 : 0) + (standbyPlayer != null ? 1 : 0));
+        statsSnapshot.putMap("threads", threads);
+        statsSnapshot.publish();
     }
 
     @ReactMethod
     public void getMetadata(Promise promise) {
-        try {
-            WritableMap metadata = Arguments.createMap();
+        runOnPlayerThread(() -> {
+            try {
+                WritableMap metadata = Arguments.createMap();
             
-            if (player != null && player.getMediaMetadata() != null) {
-                MediaMetadata mediaMetadata = player.getMediaMetadata();
+                if (player != null && player.getMediaMetadata() != null) {
+                    MediaMetadata mediaMetadata = player.getMediaMetadata();
                 
-                if (mediaMetadata.title != null) {
-                    metadata.putString("title", mediaMetadata.title.toString());
-                }
-                if (mediaMetadata.artist != null) {
-                    metadata.putString("artist", mediaMetadata.artist.toString());
-                }
-                if (mediaMetadata.albumTitle != null) {
-                    metadata.putString("album", mediaMetadata.albumTitle.toString());
-                }
+                    if (mediaMetadata.title != null) {
+                        metadata.putString("title", mediaMetadata.title.toString());
+                    }
+                    if (mediaMetadata.artist != null) {
+                        metadata.putString("artist", mediaMetadata.artist.toString());
+                    }
+                    if (mediaMetadata.albumTitle != null) {
+                        metadata.putString("album", mediaMetadata.albumTitle.toString());
+                    }
                 
-                double duration = player.getDuration() != C.TIME_UNSET ? player.getDuration() / 1000.0 : 0;
-                if (duration > 0) {
-                    metadata.putDouble("duration", duration);
+                    double duration = player.getDuration() != C.TIME_UNSET ? player.getDuration() / 1000.0 : 0;
+                    if (duration > 0) {
+                        metadata.putDouble("duration", duration);
+                    }
                 }
-            }
             
-            promise.resolve(metadata);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to get metadata", e);
-            promise.reject("METADATA_ERROR", "Failed to get metadata", e);
-        }
+                promise.resolve(metadata);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to get metadata", e);
+                promise.reject("METADATA_ERROR", "Failed to get metadata", e);
+            }
+        });
     }
 
     @ReactMethod
     public void setEqualizer(ReadableArray bands, Promise promise) {
-        // ExoPlayer doesn't have built-in equalizer support
-        // Would need to implement with AudioEffect API
-        promise.resolve(true);
+        try {
+            // Takes effect at the next audio buffer of every player, without a lock or restart
+            EqualizerAudioProcessor.Band[] parsed = new EqualizerAudioProcessor.Band[bands.size()];
+            for (int i = 0; i < bands.size(); i++) {
+                ReadableMap band = bands.getMap(i);
+                double frequency = band.getDouble("frequency");
+                if (frequency <= 0) {
+                    promise.reject("EQUALIZER_ERROR", "Band frequency must be positive: " + frequency);
+                    return;
+                }
+                double gain = Math.max(-24, Math.min(24, band.getDouble("gain")));
+                double q = band.hasKey("q") && !band.isNull("q")
+                        ? band.getDouble("q")
+                        : EqualizerAudioProcessor.Settings.DEFAULT_Q;
+                parsed[i] = new EqualizerAudioProcessor.Band(frequency, gain, q);
+            }
+            equalizer.setBands(parsed);
+            promise.resolve(true);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to set equalizer", e);
+            promise.reject("EQUALIZER_ERROR", "Failed to set equalizer: " + e.getMessage(), e);
+        }
     }
 
     @ReactMethod
     public void getEqualizer(Promise promise) {
         WritableArray bands = Arguments.createArray();
-        // Return default flat equalizer
-        int[] frequencies = {60, 230, 910, 3600, 14000};
-        for (int freq : frequencies) {
-            WritableMap band = Arguments.createMap();
-            band.putInt("frequency", freq);
-            band.putDouble("gain", 0);
-            bands.pushMap(band);
+        for (EqualizerAudioProcessor.Band band : equalizer.getBands()) {
+            WritableMap map = Arguments.createMap();
+            map.putDouble("frequency", band.frequency);
+            map.putDouble("gain", band.gainDb);
+            map.putDouble("q", band.q);
+            bands.pushMap(map);
         }
         promise.resolve(bands);
     }
@@ -783,12 +1698,9 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void clearCache(Promise promise) {
         try {
-            if (cache != null) {
-                cache.release();
-                File cacheDir = new File(reactContext.getCacheDir(), "audio_cache");
-                deleteRecursive(cacheDir);
-                setupCache(config);
-            }
+            // Removes cached resources in place; releasing the SimpleCache here would
+            // break any player that is still reading from it
+            cacheManager.clear();
             promise.resolve(true);
         } catch (Exception e) {
             Log.e(TAG, "Failed to clear cache", e);
@@ -799,48 +1711,124 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void getCacheSize(Promise promise) {
         try {
-            long size = 0;
-            if (cache != null) {
-                // Get actual cache size used, not available space
-                File cacheDir = new File(reactContext.getCacheDir(), "audio_cache");
-                if (cacheDir.exists()) {
-                    size = getFolderSize(cacheDir);
-                }
-            }
+            // Actual cache size used, not available space
+            long size = cacheManager.getCacheSize();
             promise.resolve((double) size);
         } catch (Exception e) {
             Log.e(TAG, "Failed to get cache size", e);
             promise.reject("CACHE_ERROR", "Failed to get cache size", e);
         }
     }
-    
-    private long getFolderSize(File folder) {
-        long size = 0;
-        if (folder.exists()) {
-            File[] files = folder.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isFile()) {
-                        size += file.length();
-                    } else {
-                        size += getFolderSize(file);
+
+    @ReactMethod
+    public void preloadStream(String url, @Nullable Double duration, Promise promise) {
+        try {
+            if (!url.startsWith("http://") && !url.startsWith("https://")) {
+                promise.reject("PRELOAD_ERROR", "Only HTTP(S) streams can be preloaded", (Throwable) null);
+                return;
+            }
+            
+            if (!cacheManager.isInitialized()) {
+                setupCache(config != null ? config : Arguments.createMap());
+            }
+            if (bandwidthMeter == null) {
+                bandwidthMeter = new DefaultBandwidthMeter.Builder(reactContext).build();
+            }
+            
+            // Estimate bytes from duration and bitrate (kbps, default 128)
+            double seconds = duration != null && duration > 0 ? duration : 30;
+            int bitRate = config != null && config.hasKey("bitRate") ? config.getInt("bitRate") : 128;
+            long lengthBytes = (long) (seconds * bitRate * 1000 / 8);
+            
+            Map<String, String> headers = new HashMap<>();
+            if (config != null && config.hasKey("headers")) {
+                ReadableMap headersMap = config.getMap("headers");
+                if (headersMap != null) {
+                    ReadableMapKeySetIterator iterator = headersMap.keySetIterator();
+                    while (iterator.hasNextKey()) {
+                        String key = iterator.nextKey();
+                        headers.put(key, headersMap.getString(key));
                     }
                 }
             }
+            String cachePartition = config != null && config.hasKey("cachePartition")
+                    ? config.getString("cachePartition")
+                    : AudioCacheManager.DEFAULT_PARTITION;
+            try {
+                cacheManager.checkPartition(cachePartition);
+            } catch (IllegalArgumentException e) {
+                promise.reject("PRELOAD_ERROR", e.getMessage(), e);
+                return;
+            }
+            
+            // Runs at background priority, so active playback loads preempt it
+            preloader.preload(
+                    url,
+                    lengthBytes,
+                    cachePartition,
+                    createHttpDataSourceFactory(headers),
+                    cacheKeyFactory != null ? cacheKeyFactory : CacheKeyFactory.DEFAULT,
+                    new StreamPreloader.Callback() {
+                        @Override
+                        public void onComplete(long bytesCached) {
+                            promise.resolve((double) bytesCached);
+                        }
+
+                        @Override
+                        public void onError(Exception e) {
+                            promise.reject("PRELOAD_ERROR", "Failed to preload stream", e);
+                        }
+                    });
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to preload stream", e);
+            promise.reject("PRELOAD_ERROR", "Failed to preload stream", e);
         }
-        return size;
     }
 
     @ReactMethod
-    public void preloadStream(String url, double duration, Promise promise) {
-        // Implementation would download and cache the specified duration
-        promise.resolve(true);
+    public void warmUp(ReadableArray urls, ReadableMap options, Promise promise) {
+        try {
+            // Kept for the pool keep-alive, or refreshed per origin up to a longer TTL
+            long ttlMs = options != null && options.hasKey("ttl") ? (long) options.getDouble("ttl") : 0;
+            
+            List<String> urlList = new ArrayList<>();
+            for (int i = 0; i < urls.size(); i++) {
+                urlList.add(urls.getString(i));
+            }
+            
+            connectionWarmer.warmUp(urlList, ttlMs, results -> {
+                WritableArray resultArray = Arguments.createArray();
+                for (ConnectionWarmer.Result result : results) {
+                    WritableMap item = Arguments.createMap();
+                    item.putString("url", result.url);
+                    item.putBoolean("success", result.success);
+                    item.putDouble("time", result.elapsedMs);
+                    if (result.error != null) {
+                        item.putString("error", result.error);
+                    }
+                    resultArray.pushMap(item);
+                }
+                promise.resolve(resultArray);
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to warm up connections", e);
+            promise.reject("WARMUP_ERROR", "Failed to warm up connections", e);
+        }
     }
 
     @ReactMethod
     public void setNetworkPriority(String priority, Promise promise) {
-        // Implementation would adjust network priority
-        promise.resolve(true);
+        playbackThread.post(() -> {
+            try {
+                priorityController.setPriority(priority);
+                promise.resolve(true);
+            } catch (IllegalArgumentException e) {
+                promise.reject("INVALID_PRIORITY", e.getMessage(), e);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to set network priority", e);
+                promise.reject("PRIORITY_ERROR", "Failed to set network priority", e);
+            }
+        });
     }
 
     @ReactMethod
@@ -871,14 +1859,14 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                             public void onAudioFocusChange(int focusChange) {
                                 handleAudioFocusChange(focusChange);
                             }
-                        })
+                        }, playbackThread.getHandler())
                         .build();
                 
                 int result = audioManager.requestAudioFocus(audioFocusRequest);
                 promise.resolve(result == AudioManager.AUDIOFOCUS_REQUEST_GRANTED);
             } else {
                 int result = audioManager.requestAudioFocus(
-                    focusChange -> handleAudioFocusChange(focusChange),
+                    focusChange -> runOnPlayerThread(() -> handleAudioFocusChange(focusChange)),
                     AudioManager.STREAM_MUSIC,
                     AudioManager.AUDIOFOCUS_GAIN
                 );
@@ -964,19 +1952,13 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void cancelStream(Promise promise) {
         try {
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 if (player != null) {
                     player.stop();
                     player.clearMediaItems();
+                    scheduleIdleRelease();
                 }
-                if (progressTimer != null) {
-                    progressTimer.cancel();
-                    progressTimer = null;
-                }
-                if (statsTimer != null) {
-                    statsTimer.cancel();
-                    statsTimer = null;
-                }
+                stopTimers();
             });
             updateState(PlaybackState.IDLE);
             promise.resolve(true);
@@ -1008,18 +1990,11 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
 
             Log.i(TAG, "Playing audio data, size: " + audioData.length + " bytes");
 
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 try {
-                    // Initialize player if needed
-                    if (player == null) {
-                        initializePlayer();
-                    }
-                    
-                    // Stop any current playback
-                    if (player.isPlaying()) {
-                        player.stop();
-                    }
-                    player.clearMediaItems();
+                    // Reuse the warm player; setMediaSource replaces the current item and any queue
+                    ensurePlayer();
+                    playbackQueue.clear();
                     
                     // Create ByteArrayDataSource
                     ByteArrayDataSource dataSource = new ByteArrayDataSource(audioData);
@@ -1040,6 +2015,8 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                             }
                     ).createMediaSource(mediaItem);
                     
+                    // TTS clips usually carry silence at both ends
+                    silenceTrimming.configure(config, false);
                     player.setMediaSource(mediaSource);
                     player.prepare();
                     
@@ -1088,7 +2065,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
 
             Log.i(TAG, "Appending to buffer, size: " + audioData.length + " bytes");
 
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 try {
                     // Initialize streaming components if not already
                     if (streamingFile == null) {
@@ -1097,9 +2074,8 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                         streamingOutputStream = new FileOutputStream(streamingFile, true); // Append mode
                         
                         // Initialize player with progressive media source
-                        if (player == null) {
-                            initializePlayer();
-                        }
+                        ensurePlayer();
+                        playbackQueue.clear();
                         
                         // Create progressive media source for streaming
                         Uri fileUri = Uri.fromFile(streamingFile);
@@ -1218,8 +2194,9 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void useQueuePlayer(boolean useQueue, Promise promise) {
         try {
-            // ExoPlayer already handles playlists, this is for iOS compatibility
-            Log.i(TAG, "Queue player functionality is built into ExoPlayer");
+            // The queue methods (setQueue, addToQueue, ...) drive ExoPlayer's playlist directly;
+            // this is for iOS compatibility
+            Log.i(TAG, "Queue playback is always available through the queue methods");
             promise.resolve(true);
         } catch (Exception e) {
             promise.reject("QUEUE_ERROR", "Failed to use queue player", e);
@@ -1243,18 +2220,11 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                 return;
             }
             
-            mainHandler.post(() -> {
+            playbackThread.post(() -> {
                 try {
-                    // Initialize player if needed
-                    if (player == null) {
-                        initializePlayer();
-                    }
-                    
-                    // Stop any current playback
-                    if (player.isPlaying()) {
-                        player.stop();
-                    }
-                    player.clearMediaItems();
+                    // Reuse the warm player; setMediaSource replaces the current item and any queue
+                    ensurePlayer();
+                    playbackQueue.clear();
                     
                     // Create streaming data source
                     streamingDataSource = new RealtimeStreamingDataSource();
@@ -1282,6 +2252,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                             .createMediaSource(mediaItem);
                     
                     // Set media source and prepare
+                    silenceTrimming.configure(config, true);
                     player.setMediaSource(mediaSource);
                     player.prepare();
                     
@@ -1335,16 +2306,17 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
             
             Log.d(TAG, "Appending real-time data: " + audioData.length + " bytes");
             
-            // Append data on background thread
-            new Thread(() -> {
+            // Writes can block on a full pipe; keep them off the bridge thread and in order
+            RealtimeStreamingDataSource target = streamingDataSource;
+            ingestExecutor.execute(() -> {
                 try {
-                    streamingDataSource.appendData(audioData);
+                    target.appendData(audioData);
                     promise.resolve(true);
                 } catch (IOException e) {
                     Log.e(TAG, "Failed to append real-time data", e);
                     promise.reject("APPEND_ERROR", "Failed to append real-time data", e);
                 }
-            }).start();
+            });
             
         } catch (Exception e) {
             Log.e(TAG, "Failed to append real-time data", e);
@@ -1421,20 +2393,27 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     }
 
     private void cleanup() {
-        if (progressTimer != null) {
-            progressTimer.cancel();
-            progressTimer = null;
-        }
-        
-        if (statsTimer != null) {
-            statsTimer.cancel();
-            statsTimer = null;
-        }
+        cleanup(false);
+    }
 
-        mainHandler.post(() -> {
+    /**
+     * Stop timers and park the player for reuse instead of releasing it.
+     * With {@code keepMedia} an ended item stays loaded, so the renderers keep their
+     * decoder and AudioTrack until the next item replaces it; otherwise the player is
+     * stopped and emptied. The player is released after the idle timeout.
+     */
+    private void cleanup(boolean keepMedia) {
+        stopTimers();
+
+        playbackThread.post(() -> {
+            crossfader.finish();
             if (player != null) {
-                player.release();
-                player = null;
+                if (!keepMedia) {
+                    player.stop();
+                    player.clearMediaItems();
+                    playbackQueue.clear();
+                }
+                scheduleIdleRelease();
             }
         });
 
@@ -1443,6 +2422,7 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
 
     private void updateState(PlaybackState state) {
         currentState = state;
+        sharedState.update();
         WritableMap params = Arguments.createMap();
         params.putString("state", state.toString());
         sendEvent("onStreamStateChange", params);
@@ -1460,6 +2440,9 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                 sendEvent("onStreamBuffer", bufferParams);
                 break;
             case Player.STATE_READY:
+                // Playback recovered, give the next network failure a fresh retry budget
+                consecutiveReconnects = 0;
+                maybeSeekToLiveEdge();
                 if (currentState == PlaybackState.BUFFERING) {
                     WritableMap bufferParams2 = Arguments.createMap();
                     bufferParams2.putBoolean("isBuffering", false);
@@ -1473,12 +2456,49 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
                 Log.i(TAG, "Player state changed to ENDED");
                 updateState(PlaybackState.COMPLETED);
                 sendEvent("onStreamEnd", Arguments.createMap());
-                cleanup();
+                cleanup(true);
                 break;
         }
     }
 
+    private StreamLoadErrorHandlingPolicy createLoadErrorPolicy(@Nullable ReadableMap config) {
+        int attempts = config != null && config.hasKey("reconnectAttempts") ? config.getInt("reconnectAttempts") : 3;
+        long delay = config != null && config.hasKey("reconnectDelay") ? (long) config.getDouble("reconnectDelay") : 1000;
+        return new StreamLoadErrorHandlingPolicy(attempts, delay);
+    }
+
+    /**
+     * Re-prepare the player after a network failure that outlived the loader retries.
+     * prepare() keeps the playback position, so progressive streams resume from the
+     * current byte offset and HLS from the current segment.
+     */
+    private boolean maybeReconnect(PlaybackException error) {
+        boolean isNetworkError = error.errorCode == PlaybackException.ERROR_CODE_IO_NETWORK_CONNECTION_FAILED
+                || error.errorCode == PlaybackException.ERROR_CODE_IO_NETWORK_CONNECTION_TIMEOUT
+                || error.errorCode == PlaybackException.ERROR_CODE_IO_UNSPECIFIED;
+        if (!isNetworkError || loadErrorPolicy == null || player == null
+                || consecutiveReconnects >= loadErrorPolicy.getMaxAttempts()) {
+            return false;
+        }
+
+        consecutiveReconnects++;
+        reconnectCount++;
+        long delay = loadErrorPolicy.getBackoffDelayMs(consecutiveReconnects);
+        Log.w(TAG, "Network error, reconnecting in " + delay + "ms (attempt " + consecutiveReconnects + ")");
+        updateState(PlaybackState.BUFFERING);
+        playbackThread.postDelayed(() -> {
+            if (player != null && player.getPlayerError() != null) {
+                player.prepare();
+            }
+        }, delay);
+        return true;
+    }
+
     private void handlePlayerError(PlaybackException error) {
+        if (maybeReconnect(error)) {
+            return;
+        }
+        
         updateState(PlaybackState.ERROR);
         
         WritableMap errorParams = Arguments.createMap();
@@ -1521,114 +2541,74 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
         sendEvent("onStreamError", errorParams);
     }
 
-    private void startProgressTimer() {
-        if (progressTimer != null) {
-            progressTimer.cancel();
+    /**
+     * Stats ticks run on the player thread, so no timer threads are created per stream
+     */
+    private final Runnable statsTick = new Runnable() {
+        @Override
+        public void run() {
+            updateStats(false);
+            playbackThread.postDelayed(this, statsIntervalMs);
+        }
+    };
+
+    // A new stream starts with one full stats event, deltas after that
+    private final Runnable statsStart = new Runnable() {
+        @Override
+        public void run() {
+            updateStats(true);
+            playbackThread.postDelayed(statsTick, statsIntervalMs);
         }
+    };
 
-        progressTimer = new Timer();
-        progressTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                updateProgress();
-            }
-        }, 0, 100);
+    /**
+     * Progress follows the playing state from here on; ticks only run while playing
+     */
+    private void startProgressTimer() {
+        playbackThread.post(progressEmitter::update);
     }
 
     private void startStatsTimer() {
-        if (statsTimer != null) {
-            statsTimer.cancel();
+        playbackThread.removeCallbacks(statsStart);
+        playbackThread.removeCallbacks(statsTick);
+        if (statsIntervalMs > 0) {
+            playbackThread.post(statsStart);
         }
-
-        statsTimer = new Timer();
-        statsTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                updateStats();
-            }
-        }, 0, 1000);
     }
 
-    private void updateProgress() {
-        mainHandler.post(() -> {
-            if (player != null) {
-                double currentTime = player.getCurrentPosition() / 1000.0;
-                double duration = player.getDuration() != C.TIME_UNSET ? player.getDuration() / 1000.0 : 0;
-                double percentage = duration > 0 ? (currentTime / duration) * 100 : 0;
-
-                WritableMap params = Arguments.createMap();
-                params.putDouble("currentTime", currentTime);
-                params.putDouble("duration", duration);
-                params.putDouble("percentage", percentage);
-
-                sendEvent("onStreamProgress", params);
-            }
-        });
+    private void stopTimers() {
+        playbackThread.post(progressEmitter::stop);
+        playbackThread.removeCallbacks(statsStart);
+        playbackThread.removeCallbacks(statsTick);
     }
 
-    private void updateStats() {
-        mainHandler.post(() -> {
-            getStats(new Promise() {
-                @Override
-                public void resolve(@Nullable Object value) {
-                    if (value instanceof WritableMap) {
-                        WritableMap params = Arguments.createMap();
-                        params.putMap("stats", (WritableMap) value);
-                        sendEvent("onStreamStats", params);
-                    }
-                }
-
-                @Override
-                public void reject(String code, String message) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String code, Throwable throwable) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String code, String message, Throwable throwable) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(Throwable throwable) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String code, WritableMap userInfo) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String code, String message, WritableMap userInfo) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String code, Throwable throwable, WritableMap userInfo) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
-                    // Ignore errors for stats
-                }
-
-                @Override
-                public void reject(String message) {
-                    // Ignore errors for stats
-                }
+    private void sendProgress(long positionMs, long durationMs) {
+        playerState.update(player, volume);
+        double currentTime = positionMs / 1000.0;
+        double duration = durationMs != C.TIME_UNSET ? durationMs / 1000.0 : 0;
+        double percentage = duration > 0 ? (currentTime / duration) * 100 : 0;
 
-                @Override
-                public void reject(Throwable throwable, WritableMap userInfo) {
-                    // Ignore errors for stats
-                }
-            });
-        });
+        WritableMap params = Arguments.createMap();
+        params.putDouble("currentTime", currentTime);
+        params.putDouble("duration", duration);
+        params.putDouble("percentage", percentage);
+
+        sendEvent("onStreamProgress", params);
+    }
+
+    /**
+     * Emit the stats fields that changed since the last onStreamStats, or all of them
+     * with {@code full: true} so JS replaces instead of merging
+     */
+    private void updateStats(boolean full) {
+        sampleStats();
+        WritableMap stats = full ? statsSnapshot.takeAll() : statsSnapshot.takeDelta();
+        if (stats != null) {
+            WritableMap params = Arguments.createMap();
+            params.putMap("stats", stats);
+            params.putBoolean("full", full);
+            sendEvent("onStreamStats", params);
+        }
     }
 
     private void extractAndSendMetadata() {
@@ -1695,20 +2675,15 @@ public class RNAudioStreamModule extends ReactContextBaseJavaModule {
     }
 
     private void sendEvent(String eventName, WritableMap params) {
+        eventBatcher.send(eventName, params);
+    }
+
+    private void emitEvent(String eventName, Object params) {
         reactContext
                 .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
                 .emit(eventName, params);
     }
 
-    private void deleteRecursive(File fileOrDirectory) {
-        if (fileOrDirectory.isDirectory()) {
-            for (File child : fileOrDirectory.listFiles()) {
-                deleteRecursive(child);
-            }
-        }
-        fileOrDirectory.delete();
-    }
-
     private void cleanupStreaming() {
         if (streamingDataSource != null) {
             streamingDataSource.complete();
@@ -0,0 +1,105 @@
+package com.audiostream;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Process-wide OkHttp client used by every media source in the module.
+ * One connection pool and dispatcher means manifest, segment and progressive
+ * fetches reuse warm (HTTP/2 multiplexed) connections instead of reconnecting.
+ */
+public final class SharedOkHttpClient {
+    private static final String TAG = "SharedOkHttpClient";
+
+    private static final long DEFAULT_TIMEOUT_MS = 30000;
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final long DEFAULT_KEEP_ALIVE_MS = 5 * 60 * 1000;
+    private static final int DEFAULT_MAX_REQUESTS = 64;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 8;
+
+    @Nullable
+    private static OkHttpClient client;
+    private static int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+    private static long keepAliveMs = DEFAULT_KEEP_ALIVE_MS;
+
+    private SharedOkHttpClient() {
+    }
+
+    /**
+     * Get the shared client, creating it with default settings if needed
+     */
+    public static synchronized OkHttpClient get() {
+        if (client == null) {
+            client = build(null);
+        }
+        return client;
+    }
+
+    /**
+     * Apply `timeout`, `maxIdleConnections`, `keepAliveDuration`, `maxRequests` and
+     * `maxRequestsPerHost` from the config. The connection pool is kept when its
+     * settings do not change, so already-warm connections survive re-initialization.
+     */
+    public static synchronized OkHttpClient configure(@Nullable ReadableMap config) {
+        client = build(config);
+        return client;
+    }
+
+    /**
+     * How long the pool keeps an idle connection
+     */
+    public static synchronized long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    private static OkHttpClient build(@Nullable ReadableMap config) {
+        long timeoutMs = getLong(config, "timeout", DEFAULT_TIMEOUT_MS);
+        int idleConnections = (int) getLong(config, "maxIdleConnections", DEFAULT_MAX_IDLE_CONNECTIONS);
+        long keepAlive = getLong(config, "keepAliveDuration", DEFAULT_KEEP_ALIVE_MS);
+
+        OkHttpClient.Builder builder = client != null ? client.newBuilder() : new OkHttpClient.Builder();
+
+        if (client == null || idleConnections != maxIdleConnections || keepAlive != keepAliveMs) {
+            maxIdleConnections = idleConnections;
+            keepAliveMs = keepAlive;
+            builder.connectionPool(new ConnectionPool(idleConnections, keepAlive, TimeUnit.MILLISECONDS));
+        }
+
+        Dispatcher dispatcher = client != null ? client.dispatcher() : new Dispatcher();
+        dispatcher.setMaxRequests((int) getLong(config, "maxRequests", DEFAULT_MAX_REQUESTS));
+        dispatcher.setMaxRequestsPerHost((int) getLong(config, "maxRequestsPerHost", DEFAULT_MAX_REQUESTS_PER_HOST));
+
+        OkHttpClient built = builder
+                .dispatcher(dispatcher)
+                .eventListenerFactory(NetworkMetrics.getInstance())
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .followSslRedirects(true)
+                .build();
+
+        Log.i(TAG, String.format("OkHttp client configured: timeout=%dms, idle=%d, keepAlive=%dms",
+                timeoutMs, maxIdleConnections, keepAliveMs));
+        return built;
+    }
+
+    private static long getLong(@Nullable ReadableMap config, String key, long fallback) {
+        if (config == null || !config.hasKey(key) || config.isNull(key)) {
+            return fallback;
+        }
+        return (long) config.getDouble(key);
+    }
+}
@@ -0,0 +1,166 @@
+package com.audiostream;
+
+import android.util.Log;
+import android.view.Choreographer;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Playback position, buffered position, state and output level in a small direct buffer
+ * that JS reads as a JSI ArrayBuffer, without a bridge or TurboModule call per read.
+ * The player thread rewrites it on every display frame while playing and on player
+ * events otherwise. A sequence counter guards the fields: it is odd while a write is in
+ * progress, so a reader retries when it sees an odd or changed value.
+ *
+ * Layout (native byte order, read by src/SharedPlaybackState.ts):
+ * int32 sequence @0, int32 state @4, int32 layout version @8,
+ * float64 position s @16, buffered position s @24, duration s @32 (0 if unknown),
+ * playback rate @40, level peak @48, level RMS @56.
+ */
+public class SharedPlaybackState {
+    private static final String TAG = "RNAudioStream";
+    static final int LAYOUT_VERSION = 1;
+    private static final int SIZE_BYTES = 64;
+
+    private static final int SEQUENCE = 0;
+    private static final int STATE = 4;
+    private static final int VERSION = 8;
+    private static final int POSITION = 16;
+    private static final int BUFFERED = 24;
+    private static final int DURATION = 32;
+    private static final int RATE = 40;
+    private static final int LEVEL_PEAK = 48;
+    private static final int LEVEL_RMS = 56;
+
+    private static final boolean LIBRARY_LOADED = loadLibrary();
+
+    /**
+     * Playback state as its position in the JS state list
+     */
+    public interface StateSource {
+        int getStateCode();
+    }
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(SIZE_BYTES).order(ByteOrder.nativeOrder());
+    private final PlaybackThread thread;
+    private final LevelMeter levelMeter;
+    private final StateSource stateSource;
+    private final Runnable update = this::update;
+    private final Choreographer.FrameCallback frameTick = frameTimeNanos -> onFrame();
+
+    private volatile boolean installed = false;
+    // Volatile stores order the field writes against the sequence counter
+    private volatile int writeFence;
+
+    @Nullable
+    private Player player;
+    private boolean running = false;
+
+    public SharedPlaybackState(PlaybackThread thread, LevelMeter levelMeter, StateSource stateSource) {
+        this.thread = thread;
+        this.levelMeter = levelMeter;
+        this.stateSource = stateSource;
+        buffer.putInt(VERSION, LAYOUT_VERSION);
+    }
+
+    /**
+     * Expose the buffer as {@code global.__RNAudioStreamSharedState} in the JS runtime behind
+     * {@code runtimePtr}. Must run on the JS thread. False when the native library is missing,
+     * there is no JSI runtime (e.g. remote debugging) or the engine lacks external ArrayBuffers.
+     */
+    public boolean install(long runtimePtr) {
+        if (!LIBRARY_LOADED || runtimePtr == 0) {
+            return false;
+        }
+        if (!nativeInstall(runtimePtr, buffer)) {
+            Log.w(TAG, "JSI runtime does not support shared playback state");
+            return false;
+        }
+        installed = true;
+        thread.post(update);
+        return true;
+    }
+
+    /**
+     * Follow {@code player}, the active player; null when it is released. Player thread only.
+     */
+    public void setPlayer(@Nullable Player player) {
+        this.player = player;
+        update();
+    }
+
+    /**
+     * Write the current values and start or stop the per-frame updates to match the
+     * player's playing state. Callable from any thread.
+     */
+    public void update() {
+        if (!thread.isCurrentThread()) {
+            thread.post(update);
+            return;
+        }
+        if (!installed) {
+            return;
+        }
+        write();
+        boolean playing = player != null && player.isPlaying();
+        if (playing && !running) {
+            running = true;
+            Choreographer.getInstance().postFrameCallback(frameTick);
+        } else if (!playing && running) {
+            running = false;
+            Choreographer.getInstance().removeFrameCallback(frameTick);
+            levelMeter.reset();
+            write();
+        }
+    }
+
+    private void onFrame() {
+        if (!running) {
+            return;
+        }
+        write();
+        Choreographer.getInstance().postFrameCallback(frameTick);
+    }
+
+    private void write() {
+        int sequence = buffer.getInt(SEQUENCE) + 1;
+        buffer.putInt(SEQUENCE, sequence);
+        writeFence = sequence;
+
+        buffer.putInt(STATE, stateSource.getStateCode());
+        if (player != null) {
+            long durationMs = player.getDuration();
+            buffer.putDouble(POSITION, player.getCurrentPosition() / 1000.0);
+            buffer.putDouble(BUFFERED, player.getBufferedPosition() / 1000.0);
+            buffer.putDouble(DURATION, durationMs != C.TIME_UNSET ? durationMs / 1000.0 : 0);
+            buffer.putDouble(RATE, player.getPlaybackParameters().speed);
+        } else {
+            buffer.putDouble(POSITION, 0);
+            buffer.putDouble(BUFFERED, 0);
+            buffer.putDouble(DURATION, 0);
+            buffer.putDouble(RATE, 1);
+        }
+        buffer.putDouble(LEVEL_PEAK, levelMeter.getPeak());
+        buffer.putDouble(LEVEL_RMS, levelMeter.getRms());
+
+        writeFence = sequence + 1;
+        buffer.putInt(SEQUENCE, sequence + 1);
+    }
+
+    private static boolean loadLibrary() {
+        try {
+            System.loadLibrary("rnaudiostream");
+            return true;
+        } catch (UnsatisfiedLinkError e) {
+            Log.w(TAG, "Native library unavailable, shared playback state disabled", e);
+            return false;
+        }
+    }
+
+    private static native boolean nativeInstall(long runtimePtr, ByteBuffer buffer);
+}
@@ -0,0 +1,388 @@
+package com.audiostream;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.audio.AudioProcessor;
+import androidx.media3.common.audio.BaseAudioProcessor;
+import androidx.media3.exoplayer.audio.DefaultAudioSink;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops the silence before the first audible frame of a stream and the silence after
+ * its last one, e.g. the 200-500ms that TTS clips carry on both ends. Silence in the
+ * middle is kept: a silent run is held back until audio resumes, and only dropped if
+ * the stream ends first; a run longer than the trailing limit is a pause and passes
+ * through. A little padding is kept on both sides so speech does not start or stop
+ * abruptly. Frames dropped mid-playback are reported through {@link ProcessorChain}, so
+ * the playback position still matches the media. Each gapless queue item is trimmed on
+ * its own, starting where {@link StreamBoundaryAudioRenderer} says it does. Real-time
+ * streams only lose leading silence: holding back live data would starve the AudioTrack.
+ * Buffers are sized when a stream starts, not per buffer. Runs on ExoPlayer's internal
+ * playback thread.
+ */
+public class SilenceTrimmingAudioProcessor extends BaseAudioProcessor
+        implements StreamBoundaryAudioRenderer.Listener {
+    private static final int STATE_LEADING = 0;
+    private static final int STATE_AUDIBLE = 1;
+    private static final int STATE_HOLDING = 2;
+    private static final int STATE_PAUSE = 3;
+
+    /**
+     * Trimming options for the next stream, shared by every player's processor,
+     * and what was trimmed from the current one
+     */
+    public static final class Settings {
+        public static final double DEFAULT_THRESHOLD_DB = -50;
+        public static final long DEFAULT_PADDING_MS = 20;
+        public static final long DEFAULT_MAX_TRAILING_MS = 500;
+
+        private static final class Values {
+            final boolean enabled;
+            final double thresholdDb;
+            final long paddingMs;
+            final long maxTrailingMs;
+
+            Values(boolean enabled, double thresholdDb, long paddingMs, long maxTrailingMs) {
+                this.enabled = enabled;
+                this.thresholdDb = thresholdDb;
+                this.paddingMs = paddingMs;
+                this.maxTrailingMs = maxTrailingMs;
+            }
+        }
+
+        private volatile Values values = new Values(false, DEFAULT_THRESHOLD_DB, DEFAULT_PADDING_MS, DEFAULT_MAX_TRAILING_MS);
+        private final AtomicLong leadingTrimmedUs = new AtomicLong();
+        private final AtomicLong trailingTrimmedUs = new AtomicLong();
+
+        /**
+         * Read {@code trimSilence}, {@code silenceThreshold} (dBFS), {@code silencePadding}
+         * and {@code maxTrailingSilence} (ms) from a stream config; applies from the next
+         * stream start and resets the trimmed totals. A {@code realtime} stream keeps its
+         * trailing silence.
+         */
+        public void configure(@Nullable ReadableMap config, boolean realtime) {
+            boolean enabled = config != null && config.hasKey("trimSilence") && config.getBoolean("trimSilence");
+            double thresholdDb = config != null && config.hasKey("silenceThreshold")
+                    ? Math.min(0, config.getDouble("silenceThreshold")) : DEFAULT_THRESHOLD_DB;
+            long paddingMs = config != null && config.hasKey("silencePadding")
+                    ? Math.max(0, (long) config.getDouble("silencePadding")) : DEFAULT_PADDING_MS;
+            long maxTrailingMs = config != null && config.hasKey("maxTrailingSilence")
+                    ? Math.max(0, (long) config.getDouble("maxTrailingSilence")) : DEFAULT_MAX_TRAILING_MS;
+            if (realtime) {
+                maxTrailingMs = 0;
+            }
+            values = new Values(enabled, thresholdDb, paddingMs, maxTrailingMs);
+            leadingTrimmedUs.set(0);
+            trailingTrimmedUs.set(0);
+        }
+
+        public SilenceTrimmingAudioProcessor newProcessor() {
+            return new SilenceTrimmingAudioProcessor(this);
+        }
+
+        /**
+         * Add {@code silenceTrimmedLeading} and {@code silenceTrimmedTrailing} in ms for the
+         * current stream while trimming is on
+         */
+        public void writeTo(StatsSnapshot stats) {
+            if (!values.enabled) {
+                stats.remove("silenceTrimmedLeading");
+                stats.remove("silenceTrimmedTrailing");
+                return;
+            }
+            stats.putDouble("silenceTrimmedLeading", leadingTrimmedUs.get() / 1000.0);
+            stats.putDouble("silenceTrimmedTrailing", trailingTrimmedUs.get() / 1000.0);
+        }
+    }
+
+    /**
+     * The sink's default processor chain (silence skipping, speed) after the given processors,
+     * counting the trimmer's dropped leading frames as skipped so positions stay in media time
+     */
+    public static final class ProcessorChain implements DefaultAudioSink.AudioProcessorChain {
+        private final SilenceTrimmingAudioProcessor trimmer;
+        private final DefaultAudioSink.DefaultAudioProcessorChain delegate;
+
+        public ProcessorChain(SilenceTrimmingAudioProcessor trimmer, AudioProcessor... after) {
+            this.trimmer = trimmer;
+            AudioProcessor[] processors = new AudioProcessor[after.length + 1];
+            processors[0] = trimmer;
+            System.arraycopy(after, 0, processors, 1, after.length);
+            this.delegate = new DefaultAudioSink.DefaultAudioProcessorChain(processors);
+        }
+
+        @Override
+        public AudioProcessor[] getAudioProcessors() {
+            return delegate.getAudioProcessors();
+        }
+
+        @Override
+        public PlaybackParameters applyPlaybackParameters(PlaybackParameters playbackParameters) {
+            return delegate.applyPlaybackParameters(playbackParameters);
+        }
+
+        @Override
+        public boolean applySkipSilenceEnabled(boolean skipSilenceEnabled) {
+            return delegate.applySkipSilenceEnabled(skipSilenceEnabled);
+        }
+
+        @Override
+        public long getMediaDuration(long playoutDuration) {
+            return delegate.getMediaDuration(playoutDuration);
+        }
+
+        @Override
+        public long getSkippedOutputFrameCount() {
+            return delegate.getSkippedOutputFrameCount() + trimmer.skippedFrames;
+        }
+    }
+
+    private final Settings settings;
+
+    private boolean enabled = false;
+    private int encoding = C.ENCODING_INVALID;
+    private int sampleRate = 0;
+    private int channelCount = 0;
+    private int bytesPerFrame = 0;
+    private int thresholdPcm16 = 0;
+    private float thresholdFloat = 0f;
+
+    private int state = STATE_LEADING;
+    // Most recent leading silence, re-emitted as padding before the first audible frame
+    private byte[] padding = new byte[0];
+    private int paddingWrite = 0;
+    private int paddingFill = 0;
+    // Silent run held back until audio resumes or the stream ends
+    private byte[] hold = new byte[0];
+    private int holdSize = 0;
+    private int trailingPaddingBytes = 0;
+    private volatile long skippedFrames = 0;
+    private boolean streamStartPending = false;
+
+    SilenceTrimmingAudioProcessor(Settings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void onStreamStart(boolean continuous) {
+        streamStartPending = true;
+    }
+
+    @Override
+    protected AudioFormat onConfigure(AudioFormat inputAudioFormat) throws UnhandledAudioFormatException {
+        if (inputAudioFormat.encoding != C.ENCODING_PCM_16BIT && inputAudioFormat.encoding != C.ENCODING_PCM_FLOAT) {
+            throw new UnhandledAudioFormatException(inputAudioFormat);
+        }
+        return inputAudioFormat;
+    }
+
+    @Override
+    protected void onFlush() {
+        // A new stream (or a seek) starts here: pick up the current options
+        Settings.Values values = settings.values;
+        AudioFormat format = inputAudioFormat;
+        enabled = values.enabled;
+        encoding = format.encoding;
+        sampleRate = format.sampleRate;
+        channelCount = format.channelCount;
+        bytesPerFrame = format.bytesPerFrame;
+        double threshold = Math.pow(10, values.thresholdDb / 20);
+        thresholdPcm16 = (int) (threshold * 32768);
+        thresholdFloat = (float) threshold;
+
+        int paddingBytes = (int) (values.paddingMs * sampleRate / 1000) * bytesPerFrame;
+        int holdBytes = (int) (values.maxTrailingMs * sampleRate / 1000) * bytesPerFrame;
+        if (padding.length != paddingBytes) {
+            padding = new byte[paddingBytes];
+        }
+        if (hold.length != holdBytes) {
+            hold = new byte[holdBytes];
+        }
+        trailingPaddingBytes = Math.min(paddingBytes, holdBytes);
+        paddingWrite = 0;
+        paddingFill = 0;
+        holdSize = 0;
+        skippedFrames = 0;
+        state = STATE_LEADING;
+        streamStartPending = false;
+    }
+
+    @Override
+    protected void onReset() {
+        padding = new byte[0];
+        hold = new byte[0];
+        enabled = false;
+        skippedFrames = 0;
+    }
+
+    @Override
+    public void queueInput(ByteBuffer inputBuffer) {
+        int size = inputBuffer.remaining();
+        if (size == 0) {
+            return;
+        }
+        if (!enabled) {
+            replaceOutputBuffer(size).put(inputBuffer).flip();
+            return;
+        }
+
+        // Room for a held tail's padding, then this stream's padding or a released hold
+        ByteBuffer output = replaceOutputBuffer(size + padding.length + Math.max(padding.length, hold.length));
+        if (streamStartPending) {
+            startNextStream(output);
+        }
+        ByteBuffer input = inputBuffer.order() == ByteOrder.nativeOrder() ? inputBuffer : inputBuffer.duplicate().order(ByteOrder.nativeOrder());
+        int end = inputBuffer.limit();
+        long droppedLeading = 0;
+        for (int frame = inputBuffer.position(); frame + bytesPerFrame <= end; frame += bytesPerFrame) {
+            boolean silent = isSilent(input, frame);
+            switch (state) {
+                case STATE_LEADING:
+                    if (silent) {
+                        keepAsPadding(input, frame);
+                        droppedLeading++;
+                    } else {
+                        droppedLeading -= paddingFill / bytesPerFrame;
+                        emitPadding(output);
+                        copyFrame(input, frame, output);
+                        state = STATE_AUDIBLE;
+                    }
+                    break;
+                case STATE_AUDIBLE:
+                    if (silent && hold.length > 0) {
+                        holdFrame(input, frame);
+                        state = STATE_HOLDING;
+                    } else {
+                        copyFrame(input, frame, output);
+                    }
+                    break;
+                case STATE_HOLDING:
+                    if (!silent) {
+                        releaseHold(output);
+                        copyFrame(input, frame, output);
+                        state = STATE_AUDIBLE;
+                    } else if (holdSize + bytesPerFrame <= hold.length) {
+                        holdFrame(input, frame);
+                    } else {
+                        // Longer than any tail we trim: a pause inside the stream
+                        releaseHold(output);
+                        copyFrame(input, frame, output);
+                        state = STATE_PAUSE;
+                    }
+                    break;
+                default:
+                    copyFrame(input, frame, output);
+                    if (!silent) {
+                        state = STATE_AUDIBLE;
+                    }
+                    break;
+            }
+        }
+        inputBuffer.position(end);
+        output.flip();
+
+        if (droppedLeading != 0) {
+            skippedFrames += droppedLeading;
+            settings.leadingTrimmedUs.addAndGet(droppedLeading * C.MICROS_PER_SECOND / sampleRate);
+        }
+    }
+
+    @Override
+    protected void onQueueEndOfStream() {
+        if (!enabled || state != STATE_HOLDING) {
+            return;
+        }
+        ByteBuffer output = replaceOutputBuffer(Math.min(holdSize, trailingPaddingBytes));
+        dropTail(output);
+        output.flip();
+    }
+
+    /**
+     * The previous stream ended right before this buffer: trim its tail and look for
+     * the new stream's leading silence
+     */
+    private void startNextStream(ByteBuffer output) {
+        streamStartPending = false;
+        if (state == STATE_HOLDING) {
+            // Mid-playback, so the dropped frames count as skipped like leading ones
+            skippedFrames += dropTail(output);
+        }
+        paddingWrite = 0;
+        paddingFill = 0;
+        state = STATE_LEADING;
+    }
+
+    /**
+     * The held run was the tail: keep its padding, drop the rest. Returns the frames dropped.
+     */
+    private long dropTail(ByteBuffer output) {
+        int keep = Math.min(holdSize, trailingPaddingBytes);
+        long dropped = (holdSize - keep) / bytesPerFrame;
+        output.put(hold, 0, keep);
+        holdSize = 0;
+        settings.trailingTrimmedUs.addAndGet(dropped * C.MICROS_PER_SECOND / sampleRate);
+        return dropped;
+    }
+
+    private boolean isSilent(ByteBuffer input, int frame) {
+        if (encoding == C.ENCODING_PCM_FLOAT) {
+            for (int channel = 0; channel < channelCount; channel++) {
+                if (Math.abs(input.getFloat(frame + channel * 4)) > thresholdFloat) {
+                    return false;
+                }
+            }
+        } else {
+            for (int channel = 0; channel < channelCount; channel++) {
+                if (Math.abs(input.getShort(frame + channel * 2)) > thresholdPcm16) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void copyFrame(ByteBuffer input, int frame, ByteBuffer output) {
+        for (int i = 0; i < bytesPerFrame; i++) {
+            output.put(input.get(frame + i));
+        }
+    }
+
+    private void keepAsPadding(ByteBuffer input, int frame) {
+        if (padding.length == 0) {
+            return;
+        }
+        for (int i = 0; i < bytesPerFrame; i++) {
+            padding[paddingWrite + i] = input.get(frame + i);
+        }
+        paddingWrite = (paddingWrite + bytesPerFrame) % padding.length;
+        paddingFill = Math.min(padding.length, paddingFill + bytesPerFrame);
+    }
+
+    private void emitPadding(ByteBuffer output) {
+        // Oldest first: the ring wraps at paddingWrite once full
+        int start = paddingFill < padding.length ? 0 : paddingWrite;
+        int firstPart = Math.min(paddingFill, padding.length - start);
+        output.put(padding, start, firstPart);
+        output.put(padding, 0, paddingFill - firstPart);
+        paddingFill = 0;
+        paddingWrite = 0;
+    }
+
+    private void holdFrame(ByteBuffer input, int frame) {
+        for (int i = 0; i < bytesPerFrame; i++) {
+            hold[holdSize + i] = input.get(frame + i);
+        }
+        holdSize += bytesPerFrame;
+    }
+
+    private void releaseHold(ByteBuffer output) {
+        output.put(hold, 0, holdSize);
+        holdSize = 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.audiostream;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.MediaSource;
+
+/**
+ * Second player that buffers the predicted next stream muted and paused, so
+ * startStream on that URL only swaps players. Its LoadControl holds a
+ * {@link BufferProfile#standby(int)} profile, which caps the memory it buffers.
+ * All methods must be called on the player thread.
+ */
+@UnstableApi
+public class StandbyPlayer {
+    private static final String TAG = "StandbyPlayer";
+
+    public final ExoPlayer player;
+    public final SwitchableLoadControl loadControl;
+
+    private final BufferProfile standbyProfile;
+    @Nullable
+    private String url;
+    @Nullable
+    private StreamLoadErrorHandlingPolicy loadErrorPolicy;
+
+    public StandbyPlayer(ExoPlayer player, SwitchableLoadControl loadControl, BufferProfile standbyProfile) {
+        this.player = player;
+        this.loadControl = loadControl;
+        this.standbyProfile = standbyProfile;
+    }
+
+    /**
+     * Start buffering {@code mediaSource} for {@code url}, replacing a previous standby item
+     */
+    public void prepare(String url, MediaSource mediaSource, StreamLoadErrorHandlingPolicy loadErrorPolicy) {
+        this.url = url;
+        this.loadErrorPolicy = loadErrorPolicy;
+        loadControl.setProfile(standbyProfile);
+        player.setPriorityTaskManager(null);
+        player.setVolume(0f);
+        player.setPlayWhenReady(false);
+        player.setMediaSource(mediaSource);
+        player.prepare();
+        Log.i(TAG, "Preparing standby stream: " + url);
+    }
+
+    /**
+     * Whether the standby player holds {@code url} and has not failed loading it
+     */
+    public boolean isPreparedFor(String url) {
+        return this.url != null && this.url.equals(url) && player.getPlayerError() == null;
+    }
+
+    @Nullable
+    public String getUrl() {
+        return url;
+    }
+
+    @Nullable
+    public StreamLoadErrorHandlingPolicy getLoadErrorPolicy() {
+        return loadErrorPolicy;
+    }
+
+    /**
+     * Drop the standby item but keep the player for the next prediction
+     */
+    public void reset() {
+        url = null;
+        loadErrorPolicy = null;
+        player.stop();
+        player.clearMediaItems();
+        loadControl.setProfile(standbyProfile);
+    }
+
+    public void release() {
+        url = null;
+        loadErrorPolicy = null;
+        player.release();
+    }
+}
@@ -0,0 +1,133 @@
+package com.audiostream;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Latest playback stats as plain Java values. Fields are written on the player thread,
+ * from player listener callbacks as state changes and at each stats tick for sampled
+ * values, then published as an immutable map that any thread reads without locking.
+ * Fields that changed since the last emit can be taken as a delta.
+ */
+public final class StatsSnapshot {
+    // Player thread only
+    private final HashMap<String, Object> working = new HashMap<>();
+    private final HashMap<String, Object> emitted = new HashMap<>();
+    private boolean dirty = false;
+
+    private volatile Map<String, Object> published = Collections.emptyMap();
+
+    public void putDouble(String key, double value) {
+        set(key, value);
+    }
+
+    public void putInt(String key, int value) {
+        set(key, value);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        set(key, value);
+    }
+
+    public void putString(String key, @Nullable String value) {
+        set(key, value);
+    }
+
+    /**
+     * Nested group of values, e.g. the network metrics; compared and emitted as a whole
+     */
+    public void putMap(String key, Map<String, Object> value) {
+        set(key, value);
+    }
+
+    public void remove(String key) {
+        if (working.containsKey(key)) {
+            working.remove(key);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Drop every field, e.g. when the player is released
+     */
+    public void clear() {
+        if (!working.isEmpty()) {
+            working.clear();
+            dirty = true;
+        }
+    }
+
+    /**
+     * Make the written fields visible to {@link #toWritableMap()} on other threads
+     */
+    public void publish() {
+        if (dirty) {
+            published = Collections.unmodifiableMap(new HashMap<>(working));
+            dirty = false;
+        }
+    }
+
+    /**
+     * Latest published stats; safe to call from any thread
+     */
+    public WritableMap toWritableMap() {
+        return Arguments.makeNativeMap(published);
+    }
+
+    /**
+     * Published fields that changed since the previous call, with removed fields as null,
+     * or null when nothing changed. Player thread only.
+     */
+    @Nullable
+    public WritableMap takeDelta() {
+        Map<String, Object> current = published;
+        Map<String, Object> delta = null;
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (!emitted.containsKey(entry.getKey()) || !Objects.equals(emitted.get(entry.getKey()), entry.getValue())) {
+                if (delta == null) {
+                    delta = new HashMap<>();
+                }
+                delta.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String key : emitted.keySet()) {
+            if (!current.containsKey(key)) {
+                if (delta == null) {
+                    delta = new HashMap<>();
+                }
+                delta.put(key, null);
+            }
+        }
+        if (delta == null) {
+            return null;
+        }
+        emitted.clear();
+        emitted.putAll(current);
+        return Arguments.makeNativeMap(delta);
+    }
+
+    /**
+     * All published fields, making them the baseline of the next {@link #takeDelta()}.
+     * Player thread only.
+     */
+    public WritableMap takeAll() {
+        Map<String, Object> current = published;
+        emitted.clear();
+        emitted.putAll(current);
+        return Arguments.makeNativeMap(current);
+    }
+
+    private void set(String key, @Nullable Object value) {
+        if (!working.containsKey(key) || !Objects.equals(working.get(key), value)) {
+            working.put(key, value);
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.audiostream;
+
+import android.content.Context;
+import android.os.Handler;
+
+import androidx.annotation.Nullable;
+import androidx.media3.exoplayer.ExoPlaybackException;
+import androidx.media3.exoplayer.audio.AudioRendererEventListener;
+import androidx.media3.exoplayer.audio.AudioSink;
+import androidx.media3.exoplayer.audio.MediaCodecAudioRenderer;
+import androidx.media3.exoplayer.mediacodec.MediaCodecSelector;
+
+/**
+ * Audio renderer that tells the sink's processors where one stream ends and the next
+ * begins, in step with the audio itself: the callback runs right after the last buffer
+ * of the previous stream was handed to the sink and before the first one of the new
+ * stream. Player callbacks such as onMediaItemTransition only fire once that audio is
+ * heard, a full AudioTrack buffer later. Runs on ExoPlayer's internal playback thread,
+ * the thread the processors run on.
+ */
+public class StreamBoundaryAudioRenderer extends MediaCodecAudioRenderer {
+
+    public interface Listener {
+        /**
+         * A new stream starts with the next buffer; {@code continuous} when it directly follows
+         * the previous one (gapless queue), false after enabling, a seek or a new source
+         */
+        void onStreamStart(boolean continuous);
+    }
+
+    private final Listener[] listeners;
+    private boolean enabledSinceStreamChange = false;
+
+    public StreamBoundaryAudioRenderer(Context context,
+                                       MediaCodecSelector mediaCodecSelector,
+                                       boolean enableDecoderFallback,
+                                       @Nullable Handler eventHandler,
+                                       @Nullable AudioRendererEventListener eventListener,
+                                       AudioSink audioSink,
+                                       Listener... listeners) {
+        super(context, mediaCodecSelector, enableDecoderFallback, eventHandler, eventListener, audioSink);
+        this.listeners = listeners;
+    }
+
+    @Override
+    protected void onEnabled(boolean joining, boolean mayRenderStartOfStream) throws ExoPlaybackException {
+        super.onEnabled(joining, mayRenderStartOfStream);
+        // The first stream of an enable is reported as its own start, not a continuation
+        enabledSinceStreamChange = true;
+    }
+
+    @Override
+    protected void onPositionReset(long positionUs, boolean joining) throws ExoPlaybackException {
+        super.onPositionReset(positionUs, joining);
+        notifyStreamStart(false);
+    }
+
+    @Override
+    protected void onProcessedStreamChange() {
+        super.onProcessedStreamChange();
+        notifyStreamStart(!enabledSinceStreamChange);
+        enabledSinceStreamChange = false;
+    }
+
+    private void notifyStreamStart(boolean continuous) {
+        for (Listener listener : listeners) {
+            listener.onStreamStart(continuous);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.audiostream;
+
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.CacheKeyFactory;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * CacheKeyFactory that derives stable cache keys from signed/tokenized URLs.
+ * Rotating query parameters (expiry, signature) are stripped, or a regex
+ * extracts a stable id, so cached bytes survive token refreshes.
+ */
+@UnstableApi
+public class StreamCacheKeyFactory implements CacheKeyFactory {
+    private static final String TAG = "StreamCacheKeyFactory";
+
+    private final Set<String> ignoredParams;
+    @Nullable
+    private final Pattern keyPattern;
+
+    public StreamCacheKeyFactory(Set<String> ignoredParams, @Nullable Pattern keyPattern) {
+        this.ignoredParams = ignoredParams;
+        this.keyPattern = keyPattern;
+    }
+
+    /**
+     * Build a factory from the `cacheKeyIgnoredParams` and `cacheKeyPattern` config keys
+     */
+    public static StreamCacheKeyFactory fromConfig(@Nullable ReadableMap config) {
+        Set<String> ignoredParams = new HashSet<>();
+        Pattern keyPattern = null;
+
+        if (config != null) {
+            if (config.hasKey("cacheKeyIgnoredParams") && !config.isNull("cacheKeyIgnoredParams")) {
+                ReadableArray params = config.getArray("cacheKeyIgnoredParams");
+                if (params != null) {
+                    for (int i = 0; i < params.size(); i++) {
+                        ignoredParams.add(params.getString(i));
+                    }
+                }
+            }
+
+            if (config.hasKey("cacheKeyPattern") && !config.isNull("cacheKeyPattern")) {
+                try {
+                    keyPattern = Pattern.compile(config.getString("cacheKeyPattern"));
+                } catch (PatternSyntaxException e) {
+                    Log.w(TAG, "Invalid cacheKeyPattern, falling back to full URL keys", e);
+                }
+            }
+        }
+
+        return new StreamCacheKeyFactory(ignoredParams, keyPattern);
+    }
+
+    @Override
+    public String buildCacheKey(DataSpec dataSpec) {
+        if (dataSpec.key != null) {
+            return dataSpec.key;
+        }
+        return buildCacheKey(dataSpec.uri);
+    }
+
+    /**
+     * Compute the cache key for a URI. The first capture group of `cacheKeyPattern`
+     * (or the whole match) wins; otherwise ignored query parameters are removed.
+     */
+    public String buildCacheKey(Uri uri) {
+        String url = uri.toString();
+
+        if (keyPattern != null) {
+            Matcher matcher = keyPattern.matcher(url);
+            if (matcher.find()) {
+                String id = matcher.groupCount() > 0 ? matcher.group(1) : null;
+                return id != null ? id : matcher.group();
+            }
+        }
+
+        String query = uri.getEncodedQuery();
+        if (ignoredParams.isEmpty() || query == null) {
+            return url;
+        }
+
+        // Filter the raw query so the remaining parameters keep their order and encoding
+        StringBuilder keptQuery = new StringBuilder();
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = Uri.decode(separator >= 0 ? pair.substring(0, separator) : pair);
+            if (ignoredParams.contains(name)) {
+                continue;
+            }
+            if (keptQuery.length() > 0) {
+                keptQuery.append('&');
+            }
+            keptQuery.append(pair);
+        }
+
+        return uri.buildUpon()
+                .encodedQuery(keptQuery.length() > 0 ? keptQuery.toString() : null)
+                .build()
+                .toString();
+    }
+}
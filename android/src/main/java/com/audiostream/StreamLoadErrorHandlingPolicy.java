@@ -0,0 +1,88 @@
+package com.audiostream;
+
+import android.util.Log;
+
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.exoplayer.upstream.DefaultLoadErrorHandlingPolicy;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadErrorHandlingPolicy driven by the `reconnectAttempts` and `reconnectDelay` config.
+ * Retryable load errors back off exponentially with jitter. Loaders resume where they
+ * stopped: progressive loads re-open at the last read byte offset (Range request) and
+ * HLS/DASH retry the current segment, so a network blip does not restart the stream.
+ */
+@UnstableApi
+public class StreamLoadErrorHandlingPolicy extends DefaultLoadErrorHandlingPolicy {
+    private static final String TAG = "StreamLoadErrorPolicy";
+    private static final long MAX_RETRY_DELAY_MS = 30000;
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final Random random = new Random();
+    private final AtomicInteger retryCount = new AtomicInteger();
+    private final AtomicLong lastRetryDelayMs = new AtomicLong();
+
+    public StreamLoadErrorHandlingPolicy(int maxAttempts, long baseDelayMs) {
+        super(maxAttempts);
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = Math.max(0, baseDelayMs);
+    }
+
+    @Override
+    public long getRetryDelayMsFor(LoadErrorInfo loadErrorInfo) {
+        // Non-retryable errors (parser errors, client errors such as 404, cleartext policy...) fail immediately
+        if (isClientError(loadErrorInfo.exception)
+                || super.getRetryDelayMsFor(loadErrorInfo) == C.TIME_UNSET
+                || loadErrorInfo.errorCount > maxAttempts) {
+            return C.TIME_UNSET;
+        }
+
+        long delayMs = getBackoffDelayMs(loadErrorInfo.errorCount);
+        retryCount.incrementAndGet();
+        lastRetryDelayMs.set(delayMs);
+        Log.w(TAG, "Load error (attempt " + loadErrorInfo.errorCount + "/" + maxAttempts
+                + "), retrying in " + delayMs + "ms", loadErrorInfo.exception);
+        return delayMs;
+    }
+
+    /**
+     * A 4xx response will not change on retry, except 408 (timeout) and 429 (rate limited).
+     * The default policy retries every response code that is not a fallback candidate.
+     */
+    private static boolean isClientError(IOException exception) {
+        if (!(exception instanceof HttpDataSource.InvalidResponseCodeException)) {
+            return false;
+        }
+        int code = ((HttpDataSource.InvalidResponseCodeException) exception).responseCode;
+        return code >= 400 && code < 500 && code != 408 && code != 429;
+    }
+
+    /**
+     * Exponential backoff with jitter in [delay / 2, delay], capped at 30s
+     */
+    public long getBackoffDelayMs(int attempt) {
+        long delay = baseDelayMs << Math.min(Math.max(attempt - 1, 0), 16);
+        delay = Math.min(delay, MAX_RETRY_DELAY_MS);
+        long jitter = delay / 2;
+        return jitter > 0 ? delay - jitter + (long) (random.nextDouble() * jitter) : delay;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public int getRetryCount() {
+        return retryCount.get();
+    }
+
+    public long getLastRetryDelayMs() {
+        return lastRetryDelayMs.get();
+    }
+}
@@ -0,0 +1,99 @@
+package com.audiostream;
+
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.media3.common.util.PriorityTaskManager;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheKeyFactory;
+import androidx.media3.datasource.cache.CacheWriter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background prefetch of the start of a progressive stream into the cache.
+ * Runs at {@link NetworkPriorityController#PRIORITY_BACKGROUND}, so an active
+ * playback load pauses it until the player stops loading.
+ */
+@UnstableApi
+public class StreamPreloader {
+    private static final String TAG = "StreamPreloader";
+
+    public interface Callback {
+        /**
+         * @param bytesCached bytes of the requested range now in the cache, less than
+         *                    requested when the stream is shorter
+         */
+        void onComplete(long bytesCached);
+
+        void onError(Exception e);
+    }
+
+    private final AudioCacheManager cacheManager;
+    private final NetworkPriorityController priorityController;
+    private final Executor executor;
+
+    /**
+     * @param executor runs preloads; a serial executor keeps at most one preload thread busy
+     */
+    public StreamPreloader(AudioCacheManager cacheManager, NetworkPriorityController priorityController, Executor executor) {
+        this.cacheManager = cacheManager;
+        this.priorityController = priorityController;
+        this.executor = executor;
+    }
+
+    /**
+     * Cache the first {@code lengthBytes} of {@code url} on the preload executor
+     */
+    public void preload(String url,
+                        long lengthBytes,
+                        String cachePartition,
+                        DataSource.Factory upstreamFactory,
+                        CacheKeyFactory cacheKeyFactory,
+                        Callback callback) {
+        executor.execute(() -> {
+            PriorityTaskManager taskManager = priorityController.getTaskManager();
+            taskManager.add(NetworkPriorityController.PRIORITY_BACKGROUND);
+            try {
+                CacheDataSource dataSource = new CacheDataSource.Factory()
+                        .setCache(cacheManager.getCache(cachePartition))
+                        .setUpstreamDataSourceFactory(priorityController.wrapBackgroundFactory(upstreamFactory))
+                        .setCacheKeyFactory(cacheKeyFactory)
+                        .createDataSourceForDownloading();
+                DataSpec dataSpec = new DataSpec.Builder()
+                        .setUri(Uri.parse(url))
+                        .setLength(lengthBytes)
+                        .build();
+                AtomicLong bytesCached = new AtomicLong();
+                CacheWriter cacheWriter = new CacheWriter(dataSource, dataSpec, null,
+                        (requestLength, cachedBytes, newBytesCached) -> bytesCached.set(cachedBytes));
+
+                while (true) {
+                    try {
+                        cacheWriter.cache();
+                        break;
+                    } catch (PriorityTaskManager.PriorityTooLowException e) {
+                        // Playback is loading; wait for it and resume where the writer stopped
+                        taskManager.proceed(NetworkPriorityController.PRIORITY_BACKGROUND);
+                    }
+                }
+
+                Log.i(TAG, "Preloaded " + bytesCached.get() + " bytes of " + url);
+                callback.onComplete(bytesCached.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                callback.onError(e);
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Failed to preload " + url, e);
+                callback.onError(e);
+            } finally {
+                taskManager.remove(NetworkPriorityController.PRIORITY_BACKGROUND);
+            }
+        });
+    }
+}
@@ -9,23 +9,25 @@ import androidx.media3.datasource.DataSpec;
 import androidx.media3.datasource.TransferListener;
 
 import java.io.IOException;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.InterruptedIOException;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Custom DataSource for real-time byte streaming
- * This allows us to feed audio data chunk by chunk
+ * This allows us to feed audio data chunk by chunk;
+ * the loader thread reads chunks straight from the queue, so no writer thread is needed.
  */
 public class StreamingDataSource extends BaseDataSource {
-    private static final int PIPE_SIZE = 1024 * 64; // 64KB pipe buffer
+    private static final long POLL_INTERVAL_MS = 10;
     
-    private PipedInputStream inputStream;
-    private PipedOutputStream outputStream;
     private LinkedBlockingQueue<byte[]> chunkQueue;
     private AtomicBoolean isComplete;
-    private Thread writerThread;
+    private volatile boolean opened = false;
+    @Nullable
+    private byte[] currentChunk;
+    private int currentOffset = 0;
     private long totalBytesWritten = 0;
     private Uri uri;
 
@@ -38,36 +40,7 @@ public class StreamingDataSource extends BaseDataSource {
     @Override
     public long open(DataSpec dataSpec) throws IOException {
         uri = dataSpec.uri;
-        
-        // Create piped streams
-        outputStream = new PipedOutputStream();
-        inputStream = new PipedInputStream(outputStream, PIPE_SIZE);
-        
-        // Start writer thread to pump data from queue to output stream
-        writerThread = new Thread(() -> {
-            try {
-                while (!isComplete.get() || !chunkQueue.isEmpty()) {
-                    byte[] chunk = chunkQueue.poll();
-                    if (chunk != null) {
-                        outputStream.write(chunk);
-                        outputStream.flush();
-                        totalBytesWritten += chunk.length;
-                    } else {
-                        // Wait for data
-                        Thread.sleep(10);
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            } finally {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
-        });
-        writerThread.start();
+        opened = true;
         
         transferStarted(dataSpec);
         
@@ -77,16 +50,33 @@ public class StreamingDataSource extends BaseDataSource {
 
     @Override
     public int read(byte[] buffer, int offset, int length) throws IOException {
-        if (inputStream == null) {
+        if (!opened) {
             throw new IOException("DataSource is not opened");
         }
+        if (length == 0) {
+            return 0;
+        }
         
-        int bytesRead = inputStream.read(buffer, offset, length);
-        
-        if (bytesRead > 0) {
-            bytesTransferred(bytesRead);
+        // Wait for the next chunk on the loader thread
+        while (currentChunk == null || currentOffset >= currentChunk.length) {
+            if (isComplete.get() && chunkQueue.isEmpty()) {
+                return C.RESULT_END_OF_INPUT;
+            }
+            try {
+                currentChunk = chunkQueue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                currentOffset = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
         }
         
+        int bytesRead = Math.min(length, currentChunk.length - currentOffset);
+        System.arraycopy(currentChunk, currentOffset, buffer, offset, bytesRead);
+        currentOffset += bytesRead;
+        totalBytesWritten += bytesRead;
+        bytesTransferred(bytesRead);
+        
         return bytesRead;
     }
 
@@ -98,22 +88,11 @@ public class StreamingDataSource extends BaseDataSource {
 
     @Override
     public void close() throws IOException {
-        if (inputStream != null) {
-            inputStream.close();
-            inputStream = null;
-        }
-        
-        if (outputStream != null) {
-            outputStream.close();
-            outputStream = null;
-        }
-        
-        if (writerThread != null) {
-            writerThread.interrupt();
-            writerThread = null;
+        if (opened) {
+            opened = false;
+            currentChunk = null;
+            transferEnded();
         }
-        
-        transferEnded();
     }
 
     /**
@@ -133,7 +112,7 @@ public class StreamingDataSource extends BaseDataSource {
     }
 
     /**
-     * Get total bytes written so far
+     * Get total bytes handed to the player so far
      */
     public long getTotalBytesWritten() {
         return totalBytesWritten;
@@ -0,0 +1,124 @@
+package com.audiostream;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.Renderer;
+import androidx.media3.exoplayer.source.TrackGroupArray;
+import androidx.media3.exoplayer.trackselection.ExoTrackSelection;
+import androidx.media3.exoplayer.upstream.Allocator;
+import androidx.media3.exoplayer.upstream.DefaultAllocator;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LoadControl whose {@link BufferProfile} can change between streams without
+ * rebuilding the player. Profiles share one {@link DefaultAllocator}; a new profile
+ * is swapped in on the playback thread at the next LoadControl callback.
+ */
+@UnstableApi
+@SuppressWarnings("deprecation")
+public class SwitchableLoadControl implements LoadControl {
+    private static final String TAG = "SwitchableLoadControl";
+
+    private final DefaultAllocator allocator;
+    private final AtomicReference<BufferProfile> pendingProfile = new AtomicReference<>();
+
+    // Only touched on the playback thread
+    private DefaultLoadControl delegate;
+    private BufferProfile profile;
+    @Nullable
+    private Renderer[] renderers;
+    @Nullable
+    private TrackGroupArray trackGroups;
+    @Nullable
+    private ExoTrackSelection[] trackSelections;
+
+    /**
+     * @param segmentSize allocator segment size in bytes (the `bufferSize` config)
+     */
+    public SwitchableLoadControl(BufferProfile profile, int segmentSize) {
+        this.allocator = new DefaultAllocator(/* trimOnReset= */ true,
+                segmentSize > 0 ? segmentSize : C.DEFAULT_BUFFER_SEGMENT_SIZE);
+        this.profile = profile;
+        this.delegate = profile.createLoadControl(allocator);
+    }
+
+    /**
+     * Use {@code profile} from the next LoadControl callback on; may be called from any thread
+     */
+    public void setProfile(BufferProfile profile) {
+        pendingProfile.set(profile);
+    }
+
+    public BufferProfile getProfile() {
+        BufferProfile pending = pendingProfile.get();
+        return pending != null ? pending : profile;
+    }
+
+    private DefaultLoadControl current() {
+        BufferProfile pending = pendingProfile.getAndSet(null);
+        if (pending != null) {
+            profile = pending;
+            delegate = pending.createLoadControl(allocator);
+            // Recompute the byte target for the tracks already playing
+            if (renderers != null && trackGroups != null && trackSelections != null) {
+                delegate.onTracksSelected(renderers, trackGroups, trackSelections);
+            }
+            Log.i(TAG, "Buffer profile: " + pending);
+        }
+        return delegate;
+    }
+
+    @Override
+    public void onPrepared() {
+        current().onPrepared();
+    }
+
+    @Override
+    public void onTracksSelected(Renderer[] renderers, TrackGroupArray trackGroups, ExoTrackSelection[] trackSelections) {
+        this.renderers = renderers;
+        this.trackGroups = trackGroups;
+        this.trackSelections = trackSelections;
+        current().onTracksSelected(renderers, trackGroups, trackSelections);
+    }
+
+    @Override
+    public void onStopped() {
+        current().onStopped();
+    }
+
+    @Override
+    public void onReleased() {
+        current().onReleased();
+    }
+
+    @Override
+    public Allocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public long getBackBufferDurationUs() {
+        return current().getBackBufferDurationUs();
+    }
+
+    @Override
+    public boolean retainBackBufferFromKeyframe() {
+        return current().retainBackBufferFromKeyframe();
+    }
+
+    @Override
+    public boolean shouldContinueLoading(long playbackPositionUs, long bufferedDurationUs, float playbackSpeed) {
+        return current().shouldContinueLoading(playbackPositionUs, bufferedDurationUs, playbackSpeed);
+    }
+
+    @Override
+    public boolean shouldStartPlayback(long bufferedDurationUs, float playbackSpeed, boolean rebuffering, long targetLiveOffsetUs) {
+        return current().shouldStartPlayback(bufferedDurationUs, playbackSpeed, rebuffering, targetLiveOffsetUs);
+    }
+}
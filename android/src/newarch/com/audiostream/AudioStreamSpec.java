@@ -0,0 +1,13 @@
+package com.audiostream;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+
+/**
+ * New architecture: the module implements the codegen spec generated from
+ * src/NativeAudioStream.ts and is loaded as a TurboModule.
+ */
+abstract class AudioStreamSpec extends NativeAudioStreamSpec {
+    AudioStreamSpec(ReactApplicationContext context) {
+        super(context);
+    }
+}
@@ -0,0 +1,13 @@
+package com.audiostream;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+
+/**
+ * Old architecture: the module is a bridge module exposing the same @ReactMethods
+ */
+abstract class AudioStreamSpec extends ReactContextBaseJavaModule {
+    AudioStreamSpec(ReactApplicationContext context) {
+        super(context);
+    }
+}
@@ -0,0 +1,100 @@
+package com.audiostream;
+
+import static org.junit.Assert.assertTrue;
+
+import androidx.media3.common.C;
+import androidx.media3.common.audio.AudioProcessor.AudioFormat;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * JVM micro-benchmark of the equalizer's PCM path: five active bands on 48kHz stereo,
+ * fed in sink-sized buffers. Prints the processing cost per second of audio, the same
+ * figure {@code equalizerCpuPerSecond} reports at runtime, and fails only when
+ * processing is not comfortably faster than real time.
+ */
+public class EqualizerAudioProcessorBenchmark {
+    private static final int SAMPLE_RATE = 48000;
+    private static final int CHANNELS = 2;
+    private static final int BUFFER_FRAMES = 1024;
+    private static final int WARM_UP_SECONDS = 30;
+    private static final int MEASURED_SECONDS = 120;
+    // Far above the expected cost; catches accidental per-sample allocation or boxing
+    private static final double MAX_MS_PER_SECOND = 100;
+
+    @Test
+    public void pcm16BitStereo() throws Exception {
+        report("16-bit", measure(C.ENCODING_PCM_16BIT));
+    }
+
+    @Test
+    public void floatStereo() throws Exception {
+        report("float", measure(C.ENCODING_PCM_FLOAT));
+    }
+
+    private static void report(String name, double msPerSecond) {
+        System.out.printf("Equalizer %s 48kHz stereo: %.3f ms CPU per second of audio%n", name, msPerSecond);
+        assertTrue(name + " took " + msPerSecond + "ms per second of audio", msPerSecond < MAX_MS_PER_SECOND);
+    }
+
+    /**
+     * Milliseconds spent in queueInput per second of audio
+     */
+    private static double measure(int encoding) throws Exception {
+        EqualizerAudioProcessor.Settings settings = new EqualizerAudioProcessor.Settings();
+        settings.setBands(new EqualizerAudioProcessor.Band[] {
+                new EqualizerAudioProcessor.Band(60, 4, EqualizerAudioProcessor.Settings.DEFAULT_Q),
+                new EqualizerAudioProcessor.Band(230, -2, EqualizerAudioProcessor.Settings.DEFAULT_Q),
+                new EqualizerAudioProcessor.Band(910, 1, EqualizerAudioProcessor.Settings.DEFAULT_Q),
+                new EqualizerAudioProcessor.Band(3600, 3, EqualizerAudioProcessor.Settings.DEFAULT_Q),
+                new EqualizerAudioProcessor.Band(14000, -4, EqualizerAudioProcessor.Settings.DEFAULT_Q),
+        });
+        EqualizerAudioProcessor processor = settings.newProcessor();
+        processor.configure(new AudioFormat(SAMPLE_RATE, CHANNELS, encoding));
+        processor.flush();
+
+        ByteBuffer input = createInput(encoding);
+        int buffersPerSecond = SAMPLE_RATE / BUFFER_FRAMES;
+        run(processor, input, WARM_UP_SECONDS * buffersPerSecond);
+
+        int buffers = MEASURED_SECONDS * buffersPerSecond;
+        long start = System.nanoTime();
+        run(processor, input, buffers);
+        long elapsedNanos = System.nanoTime() - start;
+
+        double audioSeconds = (double) buffers * BUFFER_FRAMES / SAMPLE_RATE;
+        return elapsedNanos / 1_000_000.0 / audioSeconds;
+    }
+
+    private static void run(EqualizerAudioProcessor processor, ByteBuffer input, int buffers) {
+        for (int i = 0; i < buffers; i++) {
+            input.rewind();
+            processor.queueInput(input);
+            processor.getOutput();
+        }
+    }
+
+    /**
+     * One buffer of a 440Hz sine at half scale, in the sink's native byte order
+     */
+    private static ByteBuffer createInput(int encoding) {
+        boolean isFloat = encoding == C.ENCODING_PCM_FLOAT;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_FRAMES * CHANNELS * (isFloat ? 4 : 2))
+                .order(ByteOrder.nativeOrder());
+        for (int frame = 0; frame < BUFFER_FRAMES; frame++) {
+            double sample = 0.5 * Math.sin(2 * Math.PI * 440 * frame / SAMPLE_RATE);
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                if (isFloat) {
+                    buffer.putFloat((float) sample);
+                } else {
+                    buffer.putShort((short) Math.round(sample * Short.MAX_VALUE));
+                }
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -794,8 +794,8 @@ RCT_EXPORT_METHOD(preloadStream:(NSString *)url
                   resolver:(RCTPromiseResolveBlock)resolve
                   rejecter:(RCTPromiseRejectBlock)reject)
 {
-    // TODO: Implement preloading logic
-    resolve(@(YES));
+    // TODO: Implement preloading logic; nothing is cached yet
+    resolve(@(0));
 }
 
 RCT_EXPORT_METHOD(requestAudioFocus:(RCTPromiseResolveBlock)resolve
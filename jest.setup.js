@@ -19,14 +19,34 @@ jest.mock('react-native', () => {
     getCurrentTime: jest.fn(() => Promise.resolve(0)),
     getDuration: jest.fn(() => Promise.resolve(0)),
     getBufferedPercentage: jest.fn(() => Promise.resolve(0)),
+    getStateSync: jest.fn(() => 'idle'),
+    getCurrentTimeSync: jest.fn(() => 0),
+    getDurationSync: jest.fn(() => 0),
+    getVolumeSync: jest.fn(() => 1),
+    getPlaybackRateSync: jest.fn(() => 1),
+    getBufferedPercentageSync: jest.fn(() => 0),
+    installSharedState: jest.fn(() => false),
     getStats: jest.fn(() => Promise.resolve({})),
+    getStatsSnapshot: jest.fn(() => Promise.resolve({})),
     getMetadata: jest.fn(() => Promise.resolve(null)),
     setEqualizer: jest.fn(() => Promise.resolve(true)),
     getEqualizer: jest.fn(() => Promise.resolve([])),
     clearCache: jest.fn(() => Promise.resolve(true)),
     getCacheSize: jest.fn(() => Promise.resolve(0)),
-    preloadStream: jest.fn(() => Promise.resolve(true)),
+    preloadStream: jest.fn(() => Promise.resolve(0)),
     setNetworkPriority: jest.fn(() => Promise.resolve(true)),
+    warmUp: jest.fn(() => Promise.resolve([])),
+    prepareNextStream: jest.fn(() => Promise.resolve(true)),
+    clearNextStream: jest.fn(() => Promise.resolve(true)),
+    setQueue: jest.fn(() => Promise.resolve(true)),
+    addToQueue: jest.fn(() => Promise.resolve([])),
+    removeFromQueue: jest.fn(() => Promise.resolve(true)),
+    moveQueueItem: jest.fn(() => Promise.resolve(true)),
+    skipToQueueItem: jest.fn(() => Promise.resolve(true)),
+    skipToNext: jest.fn(() => Promise.resolve(true)),
+    skipToPrevious: jest.fn(() => Promise.resolve(true)),
+    clearQueue: jest.fn(() => Promise.resolve(true)),
+    getQueue: jest.fn(() => Promise.resolve({ items: [], currentIndex: -1, currentId: null })),
     requestAudioFocus: jest.fn(() => Promise.resolve(true)),
     abandonAudioFocus: jest.fn(() => Promise.resolve(true)),
     setAudioSessionCategory: jest.fn(() => Promise.resolve(true)),
@@ -13,11 +13,19 @@ import {
   EQUALIZER_PRESETS,
   ErrorCodes,
   AudioDeviceInfo,
+  QueueItem,
+  QueueState,
+  WarmUpOptions,
+  WarmUpResult,
 } from './types';
 import { logger } from './logger';
+import { SharedPlaybackStateReader } from './SharedPlaybackState';
 
-// Support both old and new architecture
-const RNAudioStream = NativeModules.RNAudioStream;
+// Support both old and new architecture: the TurboModule when the new architecture is on
+const isTurboModuleEnabled = (global as any).__turboModuleProxy != null;
+const RNAudioStream = isTurboModuleEnabled
+  ? require('./NativeAudioStream').default
+  : NativeModules.RNAudioStream;
 
 export class AudioStream implements IAudioStream {
   private static instance: AudioStream | null = null;
@@ -27,6 +35,17 @@ export class AudioStream implements IAudioStream {
   private config: AudioStreamConfig = DEFAULT_CONFIG;
   private currentUrl: string | null = null;
   private isInitialized = false;
+  private latestStats: PlaybackStats | null = null;
+  private sharedState: SharedPlaybackStateReader | null = null;
+  private sharedStateInstalled = false;
+  // Sync getter values where the native module has no sync methods (iOS), kept from events and setters
+  private lastKnown = {
+    state: PlaybackState.IDLE as PlaybackState,
+    currentTime: 0,
+    duration: 0,
+    volume: 1,
+    playbackRate: 1,
+  };
 
   private constructor() {
     if (!RNAudioStream) {
@@ -51,11 +70,15 @@ export class AudioStream implements IAudioStream {
     const eventMappings: Array<[string, keyof AudioStreamCallbacks, (data: any) => any]> = [
       ['onStreamStart', 'onStart', () => undefined],
       ['onStreamBuffer', 'onBuffer', (data) => data.isBuffering],
-      ['onStreamProgress', 'onProgress', (data) => ({
-        currentTime: data.currentTime,
-        duration: data.duration,
-        percentage: data.percentage,
-      })],
+      ['onStreamProgress', 'onProgress', (data) => {
+        this.lastKnown.currentTime = data.currentTime;
+        this.lastKnown.duration = data.duration;
+        return {
+          currentTime: data.currentTime,
+          duration: data.duration,
+          percentage: data.percentage,
+        };
+      }],
       ['onStreamError', 'onError', (data) => ({
         code: data.code,
         message: data.message,
@@ -63,21 +86,24 @@ export class AudioStream implements IAudioStream {
         recoverable: data.recoverable,
       })],
       ['onStreamEnd', 'onEnd', () => undefined],
-      ['onStreamStateChange', 'onStateChange', (data) => data.state],
+      ['onStreamStateChange', 'onStateChange', (data) => (this.lastKnown.state = data.state)],
       ['onStreamMetadata', 'onMetadata', (data) => data.metadata],
-      ['onStreamStats', 'onStats', (data) => data.stats],
+      ['onStreamStats', 'onStats', (data) => this.mergeStats(data.stats, data.full)],
       ['onNetworkStateChange', 'onNetworkStateChange', (data) => ({
         isConnected: data.isConnected,
         type: data.type || undefined,
       })],
+      ['onQueueChange', 'onQueueChange', (data) => data],
     ];
 
+    const handlers = new Map<string, (data: any) => void>();
     eventMappings.forEach(([nativeEvent, callbackKey, transformer]) => {
-      const subscription = this.eventEmitter.addListener(nativeEvent, (data: any) => {
+      const handler = (data: any) => {
         logger.verbose(`Native event received: ${nativeEvent}`, data);
+        // Transform even without listeners so stats deltas are never missed
+        const transformedData = transformer(data);
         const listeners = this.eventListeners.get(callbackKey);
         if (listeners) {
-          const transformedData = transformer(data);
           listeners.forEach((listener) => {
             try {
               listener(transformedData);
@@ -86,9 +112,24 @@ export class AudioStream implements IAudioStream {
             }
           });
         }
-      });
-      this.nativeEventSubscriptions.push(subscription);
+      };
+      handlers.set(nativeEvent, handler);
+      this.nativeEventSubscriptions.push(this.eventEmitter.addListener(nativeEvent, handler));
     });
+
+    // Batched mode (Android, batchEvents): one emission carries every event of a flush window
+    this.nativeEventSubscriptions.push(
+      this.eventEmitter.addListener('onStreamEvents', (events: Array<{ type: string; data: any }>) => {
+        events.forEach(({ type, data }) => {
+          const handler = handlers.get(type);
+          if (handler) {
+            handler(data);
+          } else {
+            logger.verbose(`Unhandled batched event: ${type}`, data);
+          }
+        });
+      })
+    );
   }
 
   async initialize(config?: AudioStreamConfig): Promise<void> {
@@ -126,6 +167,7 @@ export class AudioStream implements IAudioStream {
       await RNAudioStream.destroy();
       this.isInitialized = false;
       this.currentUrl = null;
+      this.latestStats = null;
       
       logger.info('AudioStream destroyed successfully');
     } catch (error) {
@@ -247,6 +289,7 @@ export class AudioStream implements IAudioStream {
     try {
       logger.debug(`Setting volume to ${volume}`);
       await RNAudioStream.setVolume(volume);
+      this.lastKnown.volume = volume;
     } catch (error) {
       logger.error('Failed to set volume:', error);
       throw error;
@@ -274,6 +317,7 @@ export class AudioStream implements IAudioStream {
     try {
       logger.debug(`Setting playback rate to ${rate}`);
       await RNAudioStream.setPlaybackRate(rate);
+      this.lastKnown.playbackRate = rate;
       logger.logPlaybackEvent('playbackRateChange', { rate });
     } catch (error) {
       logger.error('Failed to set playback rate:', error);
@@ -336,6 +380,71 @@ export class AudioStream implements IAudioStream {
     }
   }
 
+  /**
+   * Synchronous getters. On Android they read a native snapshot of the player state
+   * without a bridge round-trip; elsewhere they return the values of the latest events.
+   */
+  getStateSync(): PlaybackState {
+    this.ensureInitialized();
+    return this.callSync('getStateSync', this.lastKnown.state);
+  }
+
+  getCurrentTimeSync(): number {
+    this.ensureInitialized();
+    return this.callSync('getCurrentTimeSync', this.lastKnown.currentTime);
+  }
+
+  getDurationSync(): number {
+    this.ensureInitialized();
+    return this.callSync('getDurationSync', this.lastKnown.duration);
+  }
+
+  getVolumeSync(): number {
+    this.ensureInitialized();
+    return this.callSync('getVolumeSync', this.lastKnown.volume);
+  }
+
+  getPlaybackRateSync(): number {
+    this.ensureInitialized();
+    return this.callSync('getPlaybackRateSync', this.lastKnown.playbackRate);
+  }
+
+  getBufferedPercentageSync(): number {
+    this.ensureInitialized();
+    return this.callSync('getBufferedPercentageSync', 0);
+  }
+
+  /**
+   * Reader over the playback state the native player thread keeps in shared memory,
+   * for per-frame UI such as waveform scrubbing or lyric sync. Installed on first use;
+   * null on iOS or when the JS engine cannot share memory (e.g. JSC, remote debugging).
+   */
+  getSharedPlaybackState(): SharedPlaybackStateReader | null {
+    if (this.sharedStateInstalled) {
+      return this.sharedState;
+    }
+    this.sharedStateInstalled = true;
+    
+    if (Platform.OS !== 'android' || typeof RNAudioStream.installSharedState !== 'function') {
+      return null;
+    }
+    
+    try {
+      if (RNAudioStream.installSharedState()) {
+        const buffer: ArrayBuffer | undefined = (global as any).__RNAudioStreamSharedState;
+        if (buffer && SharedPlaybackStateReader.isCompatible(buffer)) {
+          this.sharedState = new SharedPlaybackStateReader(buffer);
+        }
+      }
+    } catch (error) {
+      logger.warn('Shared playback state unavailable:', error);
+    }
+    if (!this.sharedState) {
+      logger.info('Shared playback state unavailable, use the sync getters instead');
+    }
+    return this.sharedState;
+  }
+
   async getStats(): Promise<PlaybackStats> {
     this.ensureInitialized();
     
@@ -347,6 +456,32 @@ export class AudioStream implements IAudioStream {
     }
   }
 
+  /**
+   * Latest stats without sampling the player: the native snapshot on Android,
+   * a full getStats on iOS.
+   */
+  async getStatsSnapshot(): Promise<PlaybackStats> {
+    this.ensureInitialized();
+    
+    if (Platform.OS !== 'android') {
+      return this.getStats();
+    }
+    
+    try {
+      return await RNAudioStream.getStatsSnapshot();
+    } catch (error) {
+      logger.error('Failed to get stats snapshot:', error);
+      throw error;
+    }
+  }
+
+  /**
+   * Stats as of the last onStats event, merged from deltas; null before the first event
+   */
+  getLatestStats(): PlaybackStats | null {
+    return this.latestStats;
+  }
+
   async getMetadata(): Promise<AudioMetadata | null> {
     this.ensureInitialized();
     
@@ -472,8 +607,8 @@ export class AudioStream implements IAudioStream {
     
     try {
       logger.info(`Preloading stream: ${url}, duration: ${duration}s`);
-      await RNAudioStream.preloadStream(url, duration);
-      logger.info('Stream preloaded successfully');
+      const bytesCached = await RNAudioStream.preloadStream(url, duration);
+      logger.info(`Stream preloaded successfully (${bytesCached} bytes cached)`);
     } catch (error) {
       logger.error('Failed to preload stream:', error);
       throw this.createError(ErrorCodes.NETWORK_ERROR, 'Failed to preload stream', error);
@@ -492,6 +627,118 @@ export class AudioStream implements IAudioStream {
     }
   }
 
+  async warmUp(urls: string[], options: WarmUpOptions = {}): Promise<WarmUpResult[]> {
+    if (Platform.OS !== 'android') {
+      return [];
+    }
+    
+    try {
+      logger.debug(`Warming up connections for ${urls.length} URL(s)`);
+      return await RNAudioStream.warmUp(urls, options);
+    } catch (error) {
+      logger.error('Failed to warm up connections:', error);
+      throw this.createError(ErrorCodes.NETWORK_ERROR, 'Failed to warm up connections', error);
+    }
+  }
+
+  async prepareNextStream(url: string, config?: AudioStreamConfig): Promise<void> {
+    this.ensureInitialized();
+    
+    if (Platform.OS !== 'android') {
+      return;
+    }
+    
+    try {
+      logger.info(`Preparing next stream: ${url}`);
+      await RNAudioStream.prepareNextStream(url, { ...this.config, ...config });
+    } catch (error) {
+      logger.error('Failed to prepare next stream:', error);
+      throw this.createError(ErrorCodes.NETWORK_ERROR, 'Failed to prepare next stream', error);
+    }
+  }
+
+  async clearNextStream(): Promise<void> {
+    if (Platform.OS !== 'android') {
+      return;
+    }
+    
+    try {
+      await RNAudioStream.clearNextStream();
+    } catch (error) {
+      logger.error('Failed to clear next stream:', error);
+      throw error;
+    }
+  }
+
+  async setQueue(items: QueueItem[], startIndex: number = 0): Promise<void> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    
+    try {
+      logger.info(`Setting queue with ${items.length} item(s), starting at ${startIndex}`);
+      await RNAudioStream.setQueue(this.withConfig(items), startIndex, this.config);
+      this.currentUrl = items[startIndex]?.url ?? null;
+    } catch (error) {
+      logger.error('Failed to set queue:', error);
+      throw this.createError(ErrorCodes.NETWORK_ERROR, 'Failed to set queue', error);
+    }
+  }
+
+  async addToQueue(items: QueueItem[], index: number = -1): Promise<string[]> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    
+    try {
+      logger.debug(`Adding ${items.length} item(s) to queue at ${index}`);
+      return await RNAudioStream.addToQueue(this.withConfig(items), index);
+    } catch (error) {
+      logger.error('Failed to add to queue:', error);
+      throw this.createError(ErrorCodes.NETWORK_ERROR, 'Failed to add to queue', error);
+    }
+  }
+
+  async removeFromQueue(id: string): Promise<void> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    await RNAudioStream.removeFromQueue(id);
+  }
+
+  async moveQueueItem(id: string, toIndex: number): Promise<void> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    await RNAudioStream.moveQueueItem(id, toIndex);
+  }
+
+  async skipToQueueItem(id: string): Promise<void> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    await RNAudioStream.skipToQueueItem(id);
+  }
+
+  async skipToNext(): Promise<boolean> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    return await RNAudioStream.skipToNext();
+  }
+
+  async skipToPrevious(): Promise<boolean> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    return await RNAudioStream.skipToPrevious();
+  }
+
+  async clearQueue(): Promise<void> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    await RNAudioStream.clearQueue();
+  }
+
+  async getQueue(): Promise<QueueState> {
+    this.ensureInitialized();
+    this.ensureQueueSupported();
+    return await RNAudioStream.getQueue();
+  }
+
   async requestAudioFocus(): Promise<boolean> {
     this.ensureInitialized();
     
@@ -716,12 +963,53 @@ export class AudioStream implements IAudioStream {
     }
   }
 
+  /**
+   * Android sends only changed stats fields (removed ones as null) after a full event;
+   * iOS always sends everything. Listeners always get the complete stats.
+   */
+  private mergeStats(stats: Partial<PlaybackStats>, full?: boolean): PlaybackStats {
+    const merged: Record<string, any> = full || !this.latestStats ? {} : { ...this.latestStats };
+    Object.entries(stats || {}).forEach(([key, value]) => {
+      if (value === null) {
+        delete merged[key];
+      } else {
+        merged[key] = value;
+      }
+    });
+    this.latestStats = merged as PlaybackStats;
+    return this.latestStats;
+  }
+
+  private callSync<T>(method: string, fallback: T): T {
+    const getter = RNAudioStream[method];
+    if (typeof getter !== 'function') {
+      return fallback;
+    }
+    try {
+      return getter();
+    } catch (error) {
+      logger.warn(`Sync getter ${method} failed, using last known value:`, error);
+      return fallback;
+    }
+  }
+
   private ensureInitialized(): void {
     if (!this.isInitialized) {
       throw new Error('AudioStream is not initialized. Call initialize() first.');
     }
   }
 
+  private ensureQueueSupported(): void {
+    if (Platform.OS !== 'android') {
+      throw new Error('Queue playback is only available on Android');
+    }
+  }
+
+  // Queue items inherit the current configuration, like startStream
+  private withConfig(items: QueueItem[]): QueueItem[] {
+    return items.map((item) => ({ ...this.config, ...item }));
+  }
+
   private createError(code: string, message: string, originalError?: any): StreamError {
     return {
       code,
@@ -28,14 +28,36 @@ export interface Spec extends TurboModule {
   getCurrentTime(): Promise<number>;
   getDuration(): Promise<number>;
   getBufferedPercentage(): Promise<number>;
+  // Synchronous getters backed by a thread-safe player snapshot (Android)
+  getStateSync(): string;
+  getCurrentTimeSync(): number;
+  getDurationSync(): number;
+  getVolumeSync(): number;
+  getPlaybackRateSync(): number;
+  getBufferedPercentageSync(): number;
+  // Installs global.__RNAudioStreamSharedState (JSI ArrayBuffer); false when unsupported
+  installSharedState(): boolean;
   getStats(): Promise<Object>;
+  getStatsSnapshot(): Promise<Object>;
   getMetadata(): Promise<Object | null>;
   setEqualizer(bands: ReadonlyArray<Object>): Promise<boolean>;
   getEqualizer(): Promise<ReadonlyArray<Object>>;
   clearCache(): Promise<boolean>;
   getCacheSize(): Promise<number>;
-  preloadStream(url: string, duration?: number): Promise<boolean>;
+  preloadStream(url: string, duration?: number): Promise<number>;
   setNetworkPriority(priority: string): Promise<boolean>;
+  warmUp(urls: ReadonlyArray<string>, options: Object): Promise<ReadonlyArray<Object>>;
+  prepareNextStream(url: string, config: Object): Promise<boolean>;
+  clearNextStream(): Promise<boolean>;
+  setQueue(items: ReadonlyArray<Object>, startIndex: number, config: Object): Promise<boolean>;
+  addToQueue(items: ReadonlyArray<Object>, index: number): Promise<ReadonlyArray<string>>;
+  removeFromQueue(id: string): Promise<boolean>;
+  moveQueueItem(id: string, toIndex: number): Promise<boolean>;
+  skipToQueueItem(id: string): Promise<boolean>;
+  skipToNext(): Promise<boolean>;
+  skipToPrevious(): Promise<boolean>;
+  clearQueue(): Promise<boolean>;
+  getQueue(): Promise<Object>;
   requestAudioFocus(): Promise<boolean>;
   abandonAudioFocus(): Promise<boolean>;
   setAudioSessionCategory(category: string): Promise<boolean>;
@@ -48,6 +70,12 @@ export interface Spec extends TurboModule {
   useQueuePlayer(enable: boolean): Promise<boolean>;
   createRoutePickerView(): Promise<number>;
   
+  // Real-time streaming
+  startRealtimeStream(config: Object): Promise<boolean>;
+  appendRealtimeData(base64Data: string): Promise<boolean>;
+  completeRealtimeStream(): Promise<boolean>;
+  getStreamingStats(): Promise<Object>;
+  
   // Event emitter methods
   addListener(eventName: string): void;
   removeListeners(count: number): void;
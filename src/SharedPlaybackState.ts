@@ -0,0 +1,92 @@
+import { PlaybackState, SharedPlaybackStateValues } from './types';
+
+// Must match the layout written by SharedPlaybackState.java
+const LAYOUT_VERSION = 1;
+const INT_SEQUENCE = 0;
+const INT_STATE = 1;
+const INT_VERSION = 2;
+const FLOAT_POSITION = 2;
+const FLOAT_BUFFERED = 3;
+const FLOAT_DURATION = 4;
+const FLOAT_RATE = 5;
+const FLOAT_LEVEL_PEAK = 6;
+const FLOAT_LEVEL_RMS = 7;
+const MAX_READ_ATTEMPTS = 4;
+
+// Native state codes are the PlaybackState order
+const STATES: PlaybackState[] = [
+  PlaybackState.IDLE,
+  PlaybackState.LOADING,
+  PlaybackState.BUFFERING,
+  PlaybackState.PLAYING,
+  PlaybackState.PAUSED,
+  PlaybackState.STOPPED,
+  PlaybackState.ERROR,
+  PlaybackState.COMPLETED,
+];
+
+/**
+ * Reads the playback state the native player thread publishes into shared memory.
+ * Reads are plain typed array loads: no native call and no allocation, so they are
+ * cheap enough to run every frame.
+ */
+export class SharedPlaybackStateReader {
+  private readonly ints: Int32Array;
+  private readonly floats: Float64Array;
+
+  constructor(readonly buffer: ArrayBuffer) {
+    this.ints = new Int32Array(buffer, 0, 4);
+    this.floats = new Float64Array(buffer);
+  }
+
+  static isCompatible(buffer: ArrayBuffer): boolean {
+    return buffer.byteLength >= 64 && new Int32Array(buffer, 0, 4)[INT_VERSION] === LAYOUT_VERSION;
+  }
+
+  /**
+   * Copy a consistent set of values into `out`. Returns false if the native side kept
+   * writing during every attempt; `out` then holds the last, possibly mixed, values.
+   */
+  read(out: SharedPlaybackStateValues): boolean {
+    for (let attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+      const before = this.ints[INT_SEQUENCE];
+      out.state = STATES[this.ints[INT_STATE]] ?? PlaybackState.IDLE;
+      out.currentTime = this.floats[FLOAT_POSITION];
+      out.bufferedPosition = this.floats[FLOAT_BUFFERED];
+      out.duration = this.floats[FLOAT_DURATION];
+      out.playbackRate = this.floats[FLOAT_RATE];
+      out.levelPeak = this.floats[FLOAT_LEVEL_PEAK];
+      out.levelRms = this.floats[FLOAT_LEVEL_RMS];
+      if ((before & 1) === 0 && this.ints[INT_SEQUENCE] === before) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Single fields; each is one aligned load and needs no sequence check
+
+  get currentTime(): number {
+    return this.floats[FLOAT_POSITION];
+  }
+
+  get bufferedPosition(): number {
+    return this.floats[FLOAT_BUFFERED];
+  }
+
+  get duration(): number {
+    return this.floats[FLOAT_DURATION];
+  }
+
+  get levelPeak(): number {
+    return this.floats[FLOAT_LEVEL_PEAK];
+  }
+
+  get levelRms(): number {
+    return this.floats[FLOAT_LEVEL_RMS];
+  }
+
+  get state(): PlaybackState {
+    return STATES[this.ints[INT_STATE]] ?? PlaybackState.IDLE;
+  }
+}
@@ -168,6 +168,27 @@ describe('AudioStream', () => {
       
       expect(() => audioStream.removeAllEventListeners()).not.toThrow();
     });
+
+    it('should fan out batched events in order', () => {
+      // A fresh instance, so its native subscriptions are still recorded on the emitter mock
+      const instance = new (AudioStream as any)();
+      const onBatch = instance.eventEmitter.addListener.mock.calls
+        .find(([eventName]: [string]) => eventName === 'onStreamEvents')[1];
+      const received: string[] = [];
+      instance.addEventListener('onStateChange', (state: PlaybackState) => received.push(`state:${state}`));
+      instance.addEventListener('onProgress', (progress: { currentTime: number }) =>
+        received.push(`progress:${progress.currentTime}`));
+      instance.addEventListener('onEnd', () => received.push('end'));
+
+      onBatch([
+        { type: 'onStreamStateChange', data: { state: PlaybackState.PAUSED } },
+        { type: 'onStreamProgress', data: { currentTime: 12, duration: 60, percentage: 20 } },
+        { type: 'onStreamUnknown', data: {} },
+        { type: 'onStreamEnd', data: {} },
+      ]);
+
+      expect(received).toEqual([`state:${PlaybackState.PAUSED}`, 'progress:12', 'end']);
+    });
   });
 
   describe('singleton pattern', () => {
@@ -0,0 +1,108 @@
+import { SharedPlaybackStateReader } from '../SharedPlaybackState';
+import { PlaybackState, SharedPlaybackStateValues } from '../types';
+
+// Layout written by SharedPlaybackState.java: int32 sequence, state, version, then float64s from byte 16
+function createBuffer() {
+  const buffer = new ArrayBuffer(64);
+  const ints = new Int32Array(buffer, 0, 4);
+  const floats = new Float64Array(buffer);
+  ints[2] = 1;
+  return { buffer, ints, floats };
+}
+
+function write(ints: Int32Array, floats: Float64Array, state: number, position: number) {
+  ints[0]++;
+  ints[1] = state;
+  floats[2] = position;
+  floats[3] = position + 5;
+  floats[4] = 180;
+  floats[5] = 1.25;
+  floats[6] = 0.8;
+  floats[7] = 0.3;
+  ints[0]++;
+}
+
+describe('SharedPlaybackStateReader', () => {
+  describe('isCompatible', () => {
+    it('should accept a 64-byte buffer with the current layout version', () => {
+      const { buffer } = createBuffer();
+
+      expect(SharedPlaybackStateReader.isCompatible(buffer)).toBe(true);
+    });
+
+    it('should reject another layout version', () => {
+      const { buffer, ints } = createBuffer();
+      ints[2] = 2;
+
+      expect(SharedPlaybackStateReader.isCompatible(buffer)).toBe(false);
+    });
+
+    it('should reject a buffer that is too small', () => {
+      expect(SharedPlaybackStateReader.isCompatible(new ArrayBuffer(32))).toBe(false);
+    });
+  });
+
+  describe('read', () => {
+    it('should read every field from its offset', () => {
+      const { buffer, ints, floats } = createBuffer();
+      write(ints, floats, 3, 42.5);
+      const reader = new SharedPlaybackStateReader(buffer);
+      const values = {} as SharedPlaybackStateValues;
+
+      expect(reader.read(values)).toBe(true);
+      expect(values).toEqual({
+        state: PlaybackState.PLAYING,
+        currentTime: 42.5,
+        bufferedPosition: 47.5,
+        duration: 180,
+        playbackRate: 1.25,
+        levelPeak: 0.8,
+        levelRms: 0.3,
+      });
+      expect(reader.currentTime).toBe(42.5);
+      expect(reader.state).toBe(PlaybackState.PLAYING);
+    });
+
+    it('should fall back to idle for an unknown state code', () => {
+      const { buffer, ints } = createBuffer();
+      ints[1] = 99;
+
+      expect(new SharedPlaybackStateReader(buffer).state).toBe(PlaybackState.IDLE);
+    });
+
+    it('should retry when the native side writes during a read', () => {
+      const { buffer, ints, floats } = createBuffer();
+      write(ints, floats, 3, 10);
+      const reader = new SharedPlaybackStateReader(buffer);
+      let writes = 0;
+      // A write lands between the sequence checks of the first attempt
+      const values = {} as SharedPlaybackStateValues;
+      let position = 0;
+      Object.defineProperty(values, 'currentTime', {
+        get: () => position,
+        set: (value: number) => {
+          position = value;
+          if (writes++ === 0) {
+            write(ints, floats, 4, 20);
+          }
+        },
+        enumerable: true,
+      });
+
+      expect(reader.read(values)).toBe(true);
+      expect(writes).toBe(2);
+      expect(values.currentTime).toBe(20);
+      expect(values.state).toBe(PlaybackState.PAUSED);
+    });
+
+    it('should give up while a write stays in progress', () => {
+      const { buffer, ints, floats } = createBuffer();
+      write(ints, floats, 3, 10);
+      ints[0]++;
+      const values = {} as SharedPlaybackStateValues;
+
+      expect(new SharedPlaybackStateReader(buffer).read(values)).toBe(false);
+      expect(values.currentTime).toBe(10);
+    });
+  });
+});
@@ -3,6 +3,7 @@
 
 export * from './types';
 export { AudioStream } from './AudioStream';
+export { SharedPlaybackStateReader } from './SharedPlaybackState';
 export { logger } from './logger';
 
 declare const _default: AudioStream;
@@ -1,4 +1,5 @@
 export { AudioStream } from './AudioStream';
+export { SharedPlaybackStateReader } from './SharedPlaybackState';
 export * from './types';
 export { logger } from './logger';
 
@@ -1,3 +1,5 @@
+import type { SharedPlaybackStateReader } from './SharedPlaybackState';
+
 export enum AudioFormat {
   MP3 = 'mp3',
   AAC = 'aac',
@@ -35,11 +37,21 @@ export enum LogLevel {
   VERBOSE = 5,
 }
 
+// Buffering presets for the Android LoadControl:
+// lowLatency (TTS, short clips), balanced (music/radio), longForm (podcasts), lowMemory (low-RAM devices)
+export type BufferProfile = 'lowLatency' | 'balanced' | 'longForm' | 'lowMemory';
+
 export interface AudioStreamConfig {
   // Buffer configuration
-  bufferSize?: number; // in KB, default: 64
-  prebufferThreshold?: number; // in KB, default: 16
-  maxBufferSize?: number; // in KB, default: 512
+  bufferSize?: number; // in KB, allocator segment size (Android), default: 64
+  prebufferThreshold?: number; // in KB, real-time data collected before playback, default: 16
+  maxBufferSize?: number; // in KB, cap on buffered bytes (Android), default: set by bufferProfile
+  bufferProfile?: BufferProfile; // Android, default: 'balanced'; can change per stream
+  minBufferDuration?: number; // in ms, overrides the profile (Android)
+  maxBufferDuration?: number; // in ms, overrides the profile (Android)
+  startBufferDuration?: number; // in ms buffered before playback starts, overrides the profile (Android)
+  rebufferDuration?: number; // in ms buffered before resuming after a stall, overrides the profile (Android)
+  backBufferDuration?: number; // in ms kept behind the playhead for seeking back, overrides the profile (Android)
   
   // Stream configuration
   chunkSize?: number; // in KB, default: 16
@@ -47,6 +59,16 @@ export interface AudioStreamConfig {
   reconnectAttempts?: number; // default: 3
   reconnectDelay?: number; // in ms, default: 1000
   timeout?: number; // in ms, default: 30000
+  parallelConnections?: number; // Android, concurrent range requests for progressive files, default: 1 (off), max: 4
+  parallelChunkSize?: number; // in KB, initial range size for parallel downloads, default: 256
+  
+  // Live configuration (Android, HLS/DASH live streams)
+  liveMode?: boolean; // Low-latency live: 3s target offset, 0.97-1.05x catch-up, jump to edge beyond 10s
+  liveTargetOffset?: number; // in ms behind the live edge
+  liveMinOffset?: number; // in ms
+  liveMaxOffset?: number; // in ms, further behind than this jumps back to the live edge
+  liveMinPlaybackSpeed?: number; // Slowest speed used to fall back to the target offset
+  liveMaxPlaybackSpeed?: number; // Fastest speed used to catch up to the target offset
   
   // Audio configuration
   format?: AudioFormat;
@@ -57,12 +79,33 @@ export interface AudioStreamConfig {
   // Playback configuration
   autoPlay?: boolean; // default: true
   enableBackgroundMode?: boolean; // default: false
+  playerIdleTimeout?: number; // in ms an idle player stays warm for the next stream before release (Android), default: 30000
+  standbyBufferSize?: number; // in KB, memory cap of the prepareNextStream standby player (Android), default: 512
+  crossfadeDuration?: number; // in ms, overlap when startStream replaces a playing stream (Android), default: 0 (off); not applied to queue or end-of-stream transitions
+  crossfadeCurve?: 'linear' | 'equalPower'; // default: 'equalPower'
+  trimSilence?: boolean; // Drop leading and trailing silence, e.g. for TTS (Android), default: false
+  silenceThreshold?: number; // in dBFS, quieter audio counts as silence, default: -50
+  silencePadding?: number; // in ms of silence kept at each trimmed end, default: 20
+  maxTrailingSilence?: number; // in ms, longer silent runs are pauses and are kept, default: 500
+  progressInterval?: number; // in ms, minimum time between onProgress events (Android, initialize), default: 100
+  progressThreshold?: number; // in ms the position must move before another onProgress (Android, initialize), default: 50
+  progressAlignToFrame?: boolean; // Tick onProgress on display frames (Android, initialize), default: false
+  normalizeLoudness?: boolean; // Bring every stream to loudnessTarget (Android, initialize), default: false
+  loudnessTarget?: number; // in LUFS (Android, initialize), default: -16
+  loudnessMaxGain?: number; // in dB, most a quiet stream is boosted (Android, initialize), default: 12
+  statsInterval?: number; // in ms between onStats events, 0 turns them off (Android, initialize), default: 1000
+  batchEvents?: boolean; // Deliver playback events in one native emission per window (Android, initialize), default: false
+  eventBatchWindow?: number; // in ms, flush window of batched events (Android, initialize), default: 50
   maintainAudioFocus?: boolean; // default: true
   
   // Cache configuration
   enableCache?: boolean; // default: false
   cacheSize?: number; // in MB, default: 100
   cachePath?: string;
+  cacheKeyIgnoredParams?: string[]; // query params stripped from cache keys, e.g. ['token', 'expires']
+  cacheKeyPattern?: string; // regex, first capture group (or whole match) becomes the cache key
+  cachePartitions?: Record<string, number>; // independent partitions with their own size in MB, e.g. { music: 200, tts: 20 }
+  cachePartition?: string; // partition used by a stream, default: 'default' (sized by cacheSize)
   
   // Logging
   logLevel?: LogLevel;
@@ -71,6 +114,10 @@ export interface AudioStreamConfig {
   headers?: Record<string, string>;
   method?: 'GET' | 'POST'; // default: 'GET'
   body?: string | Record<string, any>; // For POST requests
+  maxIdleConnections?: number; // Android shared OkHttp pool, default: 5
+  keepAliveDuration?: number; // in ms, idle connection keep-alive, default: 300000
+  maxRequests?: number; // Android dispatcher limit, default: 64
+  maxRequestsPerHost?: number; // Android dispatcher limit per host, default: 8
   
   // iOS 26 Features
   enableRecording?: boolean; // default: false
@@ -82,12 +129,23 @@ export interface AudioStreamConfig {
   enableSpatialAudio?: boolean; // default: false - spatial audio support
 }
 
+// Values read from the shared playback state (Android, see getSharedPlaybackState)
+export interface SharedPlaybackStateValues {
+  state: PlaybackState;
+  currentTime: number; // in seconds
+  bufferedPosition: number; // in seconds
+  duration: number; // in seconds, 0 if unknown
+  playbackRate: number;
+  levelPeak: number; // 0-1, peak sample of the latest output buffer
+  levelRms: number; // 0-1, RMS of the latest output buffer
+}
+
 export interface PlaybackStats {
   bufferedDuration: number; // in seconds
   playedDuration: number; // in seconds
   totalDuration: number; // in seconds (if known)
-  networkSpeed: number; // in KB/s
-  latency: number; // in ms
+  networkSpeed: number; // in KB/s, rolling throughput while transferring
+  latency: number; // in ms, median request-to-response-headers time
   bufferHealth: number; // 0-100 percentage
   droppedFrames: number;
   bitRate: number; // actual bitrate in kbps
@@ -96,6 +154,79 @@ export interface PlaybackStats {
   bufferedPercentage: number; // Percentage of total duration buffered
   isBuffering: boolean; // Currently buffering
   playWhenReady: boolean; // Will play when buffer is ready
+  bufferProfile?: BufferProfile; // Active buffering profile (Android)
+  isLive?: boolean; // Current item is a live stream (Android)
+  liveOffset?: number; // in seconds behind the live edge (Android, live only)
+  liveTargetOffset?: number; // in seconds (Android, live only)
+  livePlaybackSpeed?: number; // Current catch-up speed (Android, live only)
+  retryCount?: number; // Load retries + reconnects for the current stream (Android)
+  reconnectCount?: number; // Player-level reconnects after network failures (Android)
+  lastRetryDelay?: number; // Backoff delay of the latest retry in ms (Android)
+  warmConnections?: number; // Requests served by an already-open connection (Android)
+  coldConnections?: number; // Requests that had to open a new connection (Android)
+  warmConnectTime?: number; // Average connection acquisition on warm connections in ms (Android)
+  coldConnectTime?: number; // Average connection setup (DNS + TCP + TLS) in ms (Android)
+  network?: NetworkStats; // Per-request timings over a rolling window (Android)
+  crossfadeCount?: number; // Completed crossfades (Android)
+  crossfadeCpuUsage?: number; // Process CPU during the last crossfade, % of one core (Android)
+  crossfadeRampCpuTime?: number; // CPU ms spent in the last crossfade's volume ramps (Android)
+  playerThreadCallTime?: RollingMetric; // ms per module call on the player thread (Android)
+  playerThreadCalls?: number; // Calls run on the player thread (Android)
+  playerThreadSlowCalls?: number; // Calls longer than one 60Hz frame (16ms) (Android)
+  threads?: ThreadStats; // Threads owned by the module (Android)
+  progressEventCount?: number; // onProgress events sent (Android)
+  progressSkippedCount?: number; // Progress ticks skipped because the position barely moved (Android)
+  eventBatches?: number; // onStreamEvents emissions (Android, batchEvents)
+  batchedEvents?: number; // Events that went through batching (Android, batchEvents)
+  coalescedEvents?: number; // Progress events superseded within a window (Android, batchEvents)
+  equalizerCpuPerSecond?: number; // Equalizer CPU ms per second of audio, normalized to 48kHz stereo (Android)
+  silenceTrimmedLeading?: number; // in ms of leading silence dropped from the current stream (Android, trimSilence)
+  silenceTrimmedTrailing?: number; // in ms of trailing silence dropped from the current stream (Android, trimSilence)
+  loudnessIntegrated?: number; // in LUFS, measured so far or cached, of the current stream (Android, normalizeLoudness)
+  loudnessGain?: number; // in dB, normalization gain currently applied (Android, normalizeLoudness)
+  loudnessFromCache?: boolean; // Loudness came from an earlier full playback (Android, normalizeLoudness)
+  limiterReduction?: number; // in dB, current peak limiter gain, 0 when idle (Android, normalizeLoudness)
+}
+
+export interface RollingMetric {
+  samples: number; // Samples currently in the window
+  avg: number;
+  p50: number;
+  p90: number;
+  p95: number;
+  max: number;
+}
+
+export interface NetworkStats {
+  dns: RollingMetric; // DNS lookup in ms
+  connect: RollingMetric; // TCP + TLS connect in ms
+  tls: RollingMetric; // TLS handshake in ms
+  ttfb: RollingMetric; // Request start to first response byte in ms
+  latency: RollingMetric; // Request sent to response headers in ms
+  throughput: RollingMetric; // Bytes per second while transferring
+  bytesReceived: number;
+  requestCount: number;
+  failedRequestCount: number;
+}
+
+export interface ThreadStats {
+  playerThreads: number; // Player thread plus one internal playback thread per live player
+  ioThreads: number; // Shared I/O pool threads alive (at most 3)
+  ioActive: number; // I/O threads running a task
+  ioQueued: number; // I/O tasks waiting for a thread
+  ioThreadsCreated: number; // I/O threads started since the module was created
+  processThreads: number; // All threads in the app process
+}
+
+export interface WarmUpOptions {
+  ttl?: number; // Minimum time warmed connections stay open when idle, in ms (Android), default: keepAliveDuration
+}
+
+export interface WarmUpResult {
+  url: string;
+  success: boolean;
+  time: number; // Time to open the connection in ms
+  error?: string;
 }
 
 export interface AudioMetadata {
@@ -112,6 +243,7 @@ export interface AudioMetadata {
 export interface EqualizerBand {
   frequency: number; // in Hz
   gain: number; // in dB (-12 to +12)
+  q?: number; // band quality, default 1.41 (about one octave) (Android)
 }
 
 export interface EqualizerPreset {
@@ -141,6 +273,20 @@ export interface AudioStreamCallbacks {
   onMetadata?: (metadata: AudioMetadata) => void;
   onStats?: (stats: PlaybackStats) => void;
   onNetworkStateChange?: (state: { isConnected: boolean; type?: string }) => void;
+  onQueueChange?: (state: QueueState) => void; // Android
+}
+
+// Queue item: a stream URL with optional id and per-item configuration (headers, cache, ...)
+export interface QueueItem extends AudioStreamConfig {
+  url: string;
+  id?: string; // Generated when omitted
+}
+
+export interface QueueState {
+  items: Array<{ id: string; url: string }>;
+  currentIndex: number; // -1 when the queue is empty
+  currentId: string | null;
+  reason?: 'set' | 'add' | 'remove' | 'move' | 'clear' | 'transition'; // Set on onQueueChange events
 }
 
 export interface AudioDeviceInfo {
@@ -184,8 +330,21 @@ export interface IAudioStream {
   getDuration(): Promise<number>;
   getBufferedPercentage(): Promise<number>;
   
+  // Synchronous state queries (native snapshot on Android, latest event values elsewhere)
+  getStateSync(): PlaybackState;
+  getCurrentTimeSync(): number;
+  getDurationSync(): number;
+  getVolumeSync(): number;
+  getPlaybackRateSync(): number;
+  getBufferedPercentageSync(): number;
+  
+  // Shared-memory playback state, read per frame without native calls (Android, JSI)
+  getSharedPlaybackState(): SharedPlaybackStateReader | null;
+  
   // Statistics
   getStats(): Promise<PlaybackStats>;
+  getStatsSnapshot(): Promise<PlaybackStats>;
+  getLatestStats(): PlaybackStats | null;
   
   // Metadata
   getMetadata(): Promise<AudioMetadata | null>;
@@ -216,6 +375,20 @@ export interface IAudioStream {
   
   // Network
   setNetworkPriority(priority: 'low' | 'normal' | 'high'): Promise<void>;
+  warmUp(urls: string[], options?: WarmUpOptions): Promise<WarmUpResult[]>; // Pre-open connections (Android)
+  prepareNextStream(url: string, config?: AudioStreamConfig): Promise<void>; // Buffer the next stream in a standby player (Android)
+  clearNextStream(): Promise<void>; // Release the standby player (Android)
+  
+  // Queue (Android): gapless playlist backed by the native player
+  setQueue(items: QueueItem[], startIndex?: number): Promise<void>;
+  addToQueue(items: QueueItem[], index?: number): Promise<string[]>; // Returns the item ids
+  removeFromQueue(id: string): Promise<void>;
+  moveQueueItem(id: string, toIndex: number): Promise<void>;
+  skipToQueueItem(id: string): Promise<void>;
+  skipToNext(): Promise<boolean>;
+  skipToPrevious(): Promise<boolean>;
+  clearQueue(): Promise<void>; // Removes every item except the current one
+  getQueue(): Promise<QueueState>;
   
   // Platform specific
   requestAudioFocus(): Promise<boolean>;
@@ -252,14 +425,28 @@ export interface AudioStreamNativeModule {
   getCurrentTime(): Promise<number>;
   getDuration(): Promise<number>;
   getBufferedPercentage(): Promise<number>;
+  installSharedState(): boolean;
   getStats(): Promise<PlaybackStats>;
+  getStatsSnapshot(): Promise<PlaybackStats>;
   getMetadata(): Promise<AudioMetadata | null>;
   setEqualizer(bands: EqualizerBand[]): Promise<void>;
   getEqualizer(): Promise<EqualizerBand[]>;
   clearCache(): Promise<void>;
   getCacheSize(): Promise<number>;
-  preloadStream(url: string, duration?: number): Promise<void>;
+  preloadStream(url: string, duration?: number): Promise<number>; // bytes cached
   setNetworkPriority(priority: string): Promise<void>;
+  warmUp(urls: string[], options: WarmUpOptions): Promise<WarmUpResult[]>;
+  prepareNextStream(url: string, config: AudioStreamConfig): Promise<void>;
+  clearNextStream(): Promise<void>;
+  setQueue(items: QueueItem[], startIndex: number, config: AudioStreamConfig): Promise<void>;
+  addToQueue(items: QueueItem[], index: number): Promise<string[]>;
+  removeFromQueue(id: string): Promise<void>;
+  moveQueueItem(id: string, toIndex: number): Promise<void>;
+  skipToQueueItem(id: string): Promise<void>;
+  skipToNext(): Promise<boolean>;
+  skipToPrevious(): Promise<boolean>;
+  clearQueue(): Promise<void>;
+  getQueue(): Promise<QueueState>;
   requestAudioFocus(): Promise<boolean>;
   abandonAudioFocus(): Promise<void>;
   setAudioSessionCategory(category: string): Promise<void>;
@@ -290,7 +477,6 @@ export const ErrorCodes = {
 export const DEFAULT_CONFIG: AudioStreamConfig = {
   bufferSize: 64,
   prebufferThreshold: 16,
-  maxBufferSize: 512,
   chunkSize: 16,
   protocol: StreamingProtocol.HTTPS,
   reconnectAttempts: 3,